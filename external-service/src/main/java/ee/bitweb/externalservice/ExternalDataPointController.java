@@ -2,13 +2,17 @@ package ee.bitweb.externalservice;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -18,15 +22,39 @@ public class ExternalDataPointController {
 
     public static final String BASE_URL = "/data-points";
 
+    private static final int MAX_PAGE_SIZE = 10000;
+
+    @Value("${simulator.data-points.count:3}")
+    private long count;
+
     @GetMapping
     public List<DataPointResponse> list() {
-        return List.of(
-                create(1L),
-                create(2L),
-                create(3L)
+        return create(1L, count);
+    }
+
+    /**
+     * Cursor is the numeric part of the last external id on the previous page.
+     */
+    @GetMapping("/page")
+    public DataPointPageResponse page(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        long from = after != null ? after + 1 : 1L;
+        long to = Math.min(count, from + Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) - 1);
+
+        log.info("Serving data points {} - {} of {}", from, to, count);
+
+        return new DataPointPageResponse(
+                create(from, to),
+                to < count ? String.valueOf(to) : null
         );
     }
 
+    private List<DataPointResponse> create(long from, long to) {
+        return LongStream.rangeClosed(from, to).mapToObj(this::create).collect(Collectors.toList());
+    }
+
     private DataPointResponse create(Long id) {
         return new DataPointResponse(
                 "external-id-" + id,
@@ -45,4 +73,12 @@ public class ExternalDataPointController {
         private String comment;
         private Integer significance;
     }
+
+    @Getter
+    @AllArgsConstructor
+    public static class DataPointPageResponse {
+
+        private List<DataPointResponse> items;
+        private String nextCursor;
+    }
 }
@@ -0,0 +1,149 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointPayload;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointResponse;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to write a list page of data points and to read it back as payloads in each format the controller negotiates,
+ * with and without gzip on top. The payload size is reported next to the time as the payloadBytes counter, it is what
+ * the egress bill is based on. Run with "./gradlew jmh", adding "-prof gc" to the JMH arguments shows allocations per
+ * page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataPointSerializationBenchmark {
+
+    public enum Format {
+        JSON, SMILE, CBOR
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        /**
+         * Size of the page as written or read, gzipped when gzip is on.
+         */
+        public long payloadBytes;
+    }
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private Format format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"1000"})
+    private int size;
+
+    private List<DataPointResponse> page;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        page = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new DataPointResponse(
+                        id,
+                        "external-id-" + id,
+                        "some-value-" + id,
+                        id % 3 == 0 ? null : "some comment for data point " + id,
+                        (int) (id % 2)
+                ))
+                .collect(Collectors.toList());
+
+        ObjectMapper mapper = new ObjectMapper(factory()).disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        writer = mapper.writerFor(new TypeReference<List<DataPointResponse>>() {});
+        reader = mapper.readerFor(new TypeReference<List<DataPointPayload>>() {});
+
+        byte[] plain = mapper.writeValueAsBytes(page);
+        serialized = gzip ? compress(plain) : plain;
+    }
+
+    @Benchmark
+    public byte[] write(Payload payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, page);
+        }
+
+        byte[] written = bytes.toByteArray();
+        payload.payloadBytes = written.length;
+
+        return written;
+    }
+
+    @Benchmark
+    public List<DataPointPayload> read(Payload payload) throws IOException {
+        payload.payloadBytes = serialized.length;
+        InputStream bytes = new ByteArrayInputStream(serialized);
+
+        try (InputStream in = gzip ? new GZIPInputStream(bytes) : bytes) {
+            return reader.readValue(in);
+        }
+    }
+
+    private JsonFactory factory() {
+        switch (format) {
+            case SMILE:
+                return new SmileFactory();
+            case CBOR:
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static byte[] compress(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,97 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCacheProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilterProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a lookup miss, which throws an EntityNotFoundException without a stack trace. The repository always answers
+ * with an empty result and neither the cache nor the external id filter is in the way, so what is left is the feature
+ * code and the exception. Run with "./gradlew jmh", adding "-prof gc" to the JMH arguments shows allocations per miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityNotFoundBenchmark {
+
+    private GetDataPointByIdFeature getDataPointByIdFeature;
+
+    private GetDataPointByExternalIdFeature getDataPointByExternalIdFeature;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DataPointRepository repository = emptyRepository();
+
+        DataPointCacheProperties cacheProperties = new DataPointCacheProperties();
+        cacheProperties.setEnabled(false);
+        DataPointCache cache = new DataPointCache(cacheProperties, new SimpleMeterRegistry());
+
+        ExternalIdFilterProperties filterProperties = new ExternalIdFilterProperties();
+        filterProperties.setEnabled(false);
+        ExternalIdFilter externalIdFilter = new ExternalIdFilter(
+                repository,
+                filterProperties,
+                new ListProperties(),
+                null,
+                new SimpleMeterRegistry()
+        );
+
+        getDataPointByIdFeature = new GetDataPointByIdFeature(repository, cache);
+        getDataPointByExternalIdFeature = new GetDataPointByExternalIdFeature(repository, cache, externalIdFilter);
+    }
+
+    @Benchmark
+    public Object missById() {
+        try {
+            return getDataPointByIdFeature.getView(42L);
+        } catch (EntityNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object missByExternalId() {
+        try {
+            return getDataPointByExternalIdFeature.get("external-id-42");
+        } catch (EntityNotFoundException e) {
+            return e;
+        }
+    }
+
+    private static DataPointRepository emptyRepository() {
+        return (DataPointRepository) Proxy.newProxyInstance(
+                DataPointRepository.class.getClassLoader(),
+                new Class<?>[]{DataPointRepository.class},
+                (proxy, method, args) -> {
+                    if ("findOne".equals(method.getName()) || "findView".equals(method.getName())) {
+                        return Optional.empty();
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+}
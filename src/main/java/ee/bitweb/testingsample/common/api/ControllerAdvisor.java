@@ -11,6 +11,7 @@ import ee.bitweb.testingsample.common.api.model.exception.PersistenceErrorRespon
 import ee.bitweb.testingsample.common.api.model.exception.ValidationErrorResponse;
 import ee.bitweb.testingsample.common.exception.persistence.PersistenceException;
 import ee.bitweb.testingsample.common.exception.validation.InvalidFormatValidationException;
+import ee.bitweb.testingsample.common.exception.validation.ValidationException;
 import ee.bitweb.testingsample.common.trace.TraceId;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
@@ -48,6 +49,14 @@ public class ControllerAdvisor {
         return new PersistenceErrorResponse(getResponseId(), e);
     }
 
+    @ResponseBody
+    @ExceptionHandler(ValidationException.class)
+    public ValidationErrorResponse handleValidationException(ValidationException e, HttpServletResponse response) {
+        setDefaultHeaders(response, HttpStatus.BAD_REQUEST);
+
+        return logAndReturn(new ValidationErrorResponse(getResponseId(), e));
+    }
+
     @ResponseBody
     @ExceptionHandler(MultipartException.class)
     public GenericErrorResponse handleMultipartException(MultipartException e, HttpServletResponse response) {
@@ -0,0 +1,283 @@
+package ee.bitweb.testingsample.common.compression;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Inflates request bodies sent with "Content-Encoding: gzip" before they reach the message converters, so large
+ * payloads can be uploaded compressed. Requests with any other encoding are answered with 415 and the supported
+ * encoding in the Accept-Encoding header as described in RFC 7694.
+ */
+@Slf4j
+@Order(Integer.MIN_VALUE + 30)
+public class RequestDecompressionFilter implements Filter {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String IDENTITY = "identity";
+
+    private final long maxSize;
+
+    public RequestDecompressionFilter(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void doFilter(
+            ServletRequest request, ServletResponse response, FilterChain chain
+    ) throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest)) {
+            chain.doFilter(request, response);
+
+            return;
+        }
+
+        HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+        String encoding = httpServletRequest.getHeader(HttpHeaders.CONTENT_ENCODING);
+
+        if (encoding == null || encoding.isBlank() || IDENTITY.equalsIgnoreCase(encoding.trim())) {
+            chain.doFilter(request, response);
+        } else if (GZIP.equalsIgnoreCase(encoding.trim()) || X_GZIP.equalsIgnoreCase(encoding.trim())) {
+            chain.doFilter(new GzipRequestWrapper(httpServletRequest, maxSize), response);
+        } else {
+            log.warn("Unsupported request content encoding {}", encoding);
+
+            HttpServletResponse httpServletResponse = (HttpServletResponse) response;
+            httpServletResponse.setHeader(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            httpServletResponse.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+        }
+    }
+
+    /**
+     * Hides the encoding and the compressed length from everything further down the chain, the body they see is the
+     * inflated one and its length is not known up front.
+     */
+    static class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+        private final long maxSize;
+
+        private ServletInputStream inputStream;
+
+        GzipRequestWrapper(HttpServletRequest request, long maxSize) {
+            super(request);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new InflatingInputStream(super.getInputStream(), maxSize);
+            }
+
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String characterEncoding = getCharacterEncoding();
+            Charset charset = characterEncoding != null
+                    ? Charset.forName(characterEncoding)
+                    : StandardCharsets.UTF_8;
+
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isHidden(name)) return null;
+
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isHidden(name)) return Collections.emptyEnumeration();
+
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(
+                    Collections.list(super.getHeaderNames())
+                            .stream()
+                            .filter(name -> !isHidden(name))
+                            .collect(Collectors.toList())
+            );
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Inflates the body while it is read. The gzip stream is only opened on the first read, as opening it already reads
+     * the gzip header.
+     * <p>
+     * Gzip cannot be inflated without blocking on the compressed body, so with a {@link ReadListener} the compressed
+     * body is read into memory first, as far as the container makes it available. Once all of it has arrived the
+     * listener is told that data is available and reads the inflated body without blocking.
+     */
+    static class InflatingInputStream extends ServletInputStream {
+
+        private final ServletInputStream compressed;
+        private final long maxSize;
+
+        private InputStream delegate;
+        private long read;
+        private boolean finished;
+        private volatile boolean ready = true;
+
+        InflatingInputStream(ServletInputStream compressed, long maxSize) {
+            this.compressed = compressed;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate().read();
+
+            if (b == -1) {
+                finished = true;
+            } else {
+                count(1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate().read(buffer, offset, length);
+
+            if (n == -1) {
+                finished = true;
+            } else {
+                count(n);
+            }
+
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            ready = false;
+            compressed.setReadListener(new BufferingReadListener(readListener));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            } else {
+                compressed.close();
+            }
+        }
+
+        private InputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = new GZIPInputStream(compressed);
+            }
+
+            return delegate;
+        }
+
+        private void count(int n) throws IOException {
+            read += n;
+
+            if (read > maxSize) {
+                throw new IOException("Decompressed request body exceeds " + maxSize + " bytes");
+            }
+        }
+
+        /**
+         * Collects the compressed body while the container reports it available and hands the inflated body over to
+         * the actual listener once the compressed one is complete.
+         */
+        private class BufferingReadListener implements ReadListener {
+
+            private final ReadListener listener;
+            private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            private final byte[] chunk = new byte[8192];
+
+            BufferingReadListener(ReadListener listener) {
+                this.listener = listener;
+            }
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (compressed.isReady() && !compressed.isFinished()) {
+                    int n = compressed.read(chunk);
+
+                    if (n == -1) {
+                        break;
+                    }
+
+                    buffer.write(chunk, 0, n);
+
+                    if (buffer.size() > maxSize) {
+                        throw new IOException("Compressed request body exceeds " + maxSize + " bytes");
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                delegate = new GZIPInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+                ready = true;
+
+                listener.onDataAvailable();
+
+                if (finished) {
+                    listener.onAllDataRead();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                listener.onError(t);
+            }
+        }
+    }
+}
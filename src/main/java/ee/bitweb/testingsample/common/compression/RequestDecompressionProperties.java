@@ -0,0 +1,30 @@
+package ee.bitweb.testingsample.common.compression;
+
+import javax.validation.constraints.NotNull;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+@Setter
+@Getter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "request-decompression")
+public class RequestDecompressionProperties {
+
+    /**
+     * When disabled a request with "Content-Encoding: gzip" reaches the controllers as is and fails to parse.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound for the decompressed body. A few kilobytes of gzip can inflate to gigabytes, the limit keeps such a
+     * body from being read into memory.
+     */
+    @NotNull
+    private DataSize maxSize = DataSize.ofMegabytes(50);
+}
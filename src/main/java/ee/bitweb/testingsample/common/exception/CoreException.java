@@ -9,4 +9,12 @@ public class CoreException extends RuntimeException {
     public CoreException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * For exceptions that are thrown as an ordinary outcome and turned into an error response, where filling in the
+     * stack trace is by far the most expensive part of creating them and the trace is never looked at.
+     */
+    protected CoreException(String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+    }
 }
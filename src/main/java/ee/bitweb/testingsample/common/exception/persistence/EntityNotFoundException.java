@@ -5,19 +5,26 @@ import java.util.Set;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Created without a stack trace, a miss is an ordinary outcome of a lookup and only ends up as a 404 response.
+ */
 @Getter
 public class EntityNotFoundException extends PersistenceException {
 
     public EntityNotFoundException(String entity, String field, String value) {
-        this(entity, Set.of(new Criteria(field, value)));
+        super(createMessage(entity), entity, field, value, false);
     }
 
     public EntityNotFoundException(String entity, Set<Criteria> criteria) {
-        super(String.format("Entity %s not found", entity), entity, criteria);
+        super(createMessage(entity), entity, criteria, false);
     }
 
     @Override
     public int getCode() {
         return HttpStatus.NOT_FOUND.value();
     }
+
+    private static String createMessage(String entity) {
+        return "Entity " + entity + " not found";
+    }
 }
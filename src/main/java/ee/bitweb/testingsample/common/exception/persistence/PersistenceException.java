@@ -1,11 +1,10 @@
 package ee.bitweb.testingsample.common.exception.persistence;
 
-import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import ee.bitweb.testingsample.common.exception.CoreException;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.util.StringUtils;
 
@@ -13,18 +12,65 @@ import org.springframework.util.StringUtils;
 public abstract class PersistenceException extends CoreException {
 
     private final String entity;
-    private final Set<Criteria> criteria;
 
+    @Getter(AccessLevel.NONE)
+    private final String field;
+
+    @Getter(AccessLevel.NONE)
+    private final String value;
+
+    @Getter(AccessLevel.NONE)
+    private Set<Criteria> criteria;
+
+    /**
+     * Criteria of a single field is only materialized when asked for, so exceptions that are caught and handled as
+     * control flow do not allocate it.
+     */
     protected PersistenceException(String message, String entity, String field, String value) {
-        this(message, entity, new HashSet<>(List.of(new Criteria(field, value))));
+        this(message, entity, field, value, true);
+    }
+
+    protected PersistenceException(
+            String message,
+            String entity,
+            String field,
+            String value,
+            boolean writableStackTrace
+    ) {
+        super(
+                StringUtils.hasText(message) ? message : defaultMessage(entity, Set.of(new Criteria(field, value))),
+                writableStackTrace
+        );
+
+        this.entity = entity;
+        this.field = field;
+        this.value = value;
     }
 
     protected PersistenceException(String message, String entity, Set<Criteria> criteria) {
-        super(StringUtils.hasText(message) ? message : String.format("Exception with entity %s where %s", entity, criteria));
+        this(message, entity, criteria, true);
+    }
+
+    protected PersistenceException(String message, String entity, Set<Criteria> criteria, boolean writableStackTrace) {
+        super(StringUtils.hasText(message) ? message : defaultMessage(entity, criteria), writableStackTrace);
 
         this.entity = entity;
+        this.field = null;
+        this.value = null;
         this.criteria = criteria;
     }
 
+    public Set<Criteria> getCriteria() {
+        if (criteria == null) {
+            criteria = Set.of(new Criteria(field, value));
+        }
+
+        return criteria;
+    }
+
     public abstract int getCode();
+
+    private static String defaultMessage(String entity, Set<Criteria> criteria) {
+        return "Exception with entity " + entity + " where " + criteria;
+    }
 }
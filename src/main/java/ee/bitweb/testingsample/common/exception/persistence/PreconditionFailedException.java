@@ -0,0 +1,21 @@
+package ee.bitweb.testingsample.common.exception.persistence;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The entity exists but is not in the state the request was made conditional on, for example its version no longer
+ * matches the one the client last read.
+ */
+@Getter
+public class PreconditionFailedException extends PersistenceException {
+
+    public PreconditionFailedException(String message, String entity, String field, String value) {
+        super(message, entity, field, value);
+    }
+
+    @Override
+    public int getCode() {
+        return HttpStatus.PRECONDITION_FAILED.value();
+    }
+}
@@ -1,10 +1,19 @@
 package ee.bitweb.testingsample.common.retrofit;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ResponseBody;
 import org.json.JSONObject;
 import retrofit2.Call;
 
@@ -15,6 +24,7 @@ public class RetrofitRequestExecutor {
     private static final String REQUEST_ERROR = "REQUEST_ERROR";
     private static final String UNSUCCESSFUL_REQUEST_ERROR = "UNSUCCESSFUL_REQUEST_ERROR";
     private static final String EMPTY_RESPONSE_BODY_ERROR = "EMPTY_RESPONSE_BODY_ERROR";
+    private static final String RESPONSE_READ_ERROR = "RESPONSE_READ_ERROR";
 /*
     public static <T> T execute(Call<ee.brais.core.retrofit.Response<T>> request) {
         retrofit2.Response<ee.brais.core.retrofit.Response<T>> response = doRequest(request);
@@ -29,6 +39,46 @@ public class RetrofitRequestExecutor {
         return doRequest(request).body();
     }
 
+    /**
+     * Executes a request declared with {@link retrofit2.http.Streaming} and lazily deserializes the elements of the
+     * JSON array in the response body, so only a single element is held in memory at a time. The returned stream
+     * holds the connection open and must be closed by the caller.
+     */
+    public static <T> Stream<T> executeStream(Call<ResponseBody> request, Class<T> elementType) {
+        retrofit2.Response<ResponseBody> response = doRequest(request);
+        ResponseBody body = response.body();
+
+        if (body == null) {
+            throw new RetrofitException(EMPTY_RESPONSE_BODY_ERROR, request, response);
+        }
+
+        MappingIterator<T> elements;
+        try {
+            elements = RetrofitBuilder.OBJECT_MAPPER.readerFor(elementType).readValues(body.byteStream());
+        } catch (IOException e) {
+            log.error("Failed to read response body: ", e);
+            body.close();
+
+            throw new RetrofitException(RESPONSE_READ_ERROR, request, response);
+        }
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        new StreamingIterator<>(elements, request),
+                        Spliterator.ORDERED | Spliterator.NONNULL
+                ),
+                false
+        ).onClose(() -> {
+            try {
+                elements.close();
+            } catch (IOException e) {
+                log.warn("Failed to close response body parser", e);
+            } finally {
+                body.close();
+            }
+        });
+    }
+
     private static <T> retrofit2.Response<T> doRequest(Call<T> request) {
         retrofit2.Response<T> response;
         try {
@@ -67,4 +117,35 @@ public class RetrofitRequestExecutor {
         log.error("Retrofit request failed {}", responseError);
         throw new RetrofitException(new JSONObject(responseError).toString(), request, response);
     }
+
+    @RequiredArgsConstructor
+    private static class StreamingIterator<T> implements Iterator<T> {
+
+        private final MappingIterator<T> elements;
+        private final Call<ResponseBody> request;
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return elements.hasNext();
+            } catch (RuntimeJsonMappingException e) {
+                throw readError(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            try {
+                return elements.next();
+            } catch (RuntimeJsonMappingException e) {
+                throw readError(e);
+            }
+        }
+
+        private RetrofitException readError(RuntimeJsonMappingException e) {
+            log.error("Failed to read streamed response body: ", e);
+
+            return new RetrofitException(RESPONSE_READ_ERROR, request);
+        }
+    }
 }
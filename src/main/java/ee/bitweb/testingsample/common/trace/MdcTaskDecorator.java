@@ -0,0 +1,29 @@
+package ee.bitweb.testingsample.common.trace;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the MDC of the submitting thread, including the trace id, over to the thread running the task.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+
+        return () -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+
+            try {
+                runnable.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+}
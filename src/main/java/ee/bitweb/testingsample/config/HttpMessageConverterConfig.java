@@ -0,0 +1,39 @@
+package ee.bitweb.testingsample.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives to JSON, picked by the Accept and Content-Type headers. The mappers are built from the same
+ * builder Spring Boot uses for the JSON mapper so modules and features stay in line between the formats, JSON remains
+ * the default when the client does not ask for anything else.
+ */
+@Configuration
+public class HttpMessageConverterConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder
+                        .factory(new SmileFactory())
+                        .featuresToDisable(DeserializationFeature.ACCEPT_FLOAT_AS_INT)
+                        .build()
+        );
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder
+                        .factory(new CBORFactory())
+                        .featuresToDisable(DeserializationFeature.ACCEPT_FLOAT_AS_INT)
+                        .build()
+        );
+    }
+}
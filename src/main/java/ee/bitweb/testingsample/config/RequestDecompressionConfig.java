@@ -0,0 +1,18 @@
+package ee.bitweb.testingsample.config;
+
+import ee.bitweb.testingsample.common.compression.RequestDecompressionFilter;
+import ee.bitweb.testingsample.common.compression.RequestDecompressionProperties;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RequestDecompressionConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "request-decompression.enabled", havingValue = "true", matchIfMissing = true)
+    public RequestDecompressionFilter requestDecompressionFilter(RequestDecompressionProperties properties) {
+        return new RequestDecompressionFilter(properties.getMaxSize().toBytes());
+    }
+}
@@ -0,0 +1,29 @@
+package ee.bitweb.testingsample.config;
+
+import ee.bitweb.testingsample.common.trace.MdcTaskDecorator;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Spring Boot backs off from creating its application task executor as soon as any other executor is defined, Spring
+ * MVC then falls back to an unbounded thread per asynchronous request (e.g. streamed responses). This restores the
+ * executor as Boot would configure it from spring.task.execution.*, with the MDC carried over to its threads.
+ */
+@Configuration
+public class TaskExecutionConfig {
+
+    @Lazy
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.taskDecorator(new MdcTaskDecorator()).build();
+    }
+}
@@ -0,0 +1,137 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+
+import ee.bitweb.testingsample.common.api.ErrorMessage;
+import ee.bitweb.testingsample.common.api.ExceptionConverter;
+import ee.bitweb.testingsample.common.api.InvalidFormatExceptionConverter;
+import ee.bitweb.testingsample.common.exception.validation.FieldError;
+import ee.bitweb.testingsample.common.exception.validation.InvalidFormatValidationException;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointMapper;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointPayload;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateItem;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads payloads one at a time from a JSON array or a stream of JSON values and validates each with its Bean
+ * Validation constraints as it is read. An item that cannot be bound or is invalid becomes an invalid item with the
+ * same field errors a single create would respond with, and reading continues with the next one. Malformed JSON ends
+ * the items, as there is no telling where the next one would start.
+ */
+@RequiredArgsConstructor
+class BulkCreateItemIterator implements Iterator<BulkCreateItem> {
+
+    static final String NOT_READABLE_MESSAGE = "Item could not be read at line %d column %d, items after it were "
+            + "not read";
+    static final String NOT_BOUND_MESSAGE = "Value could not be read";
+    static final String NULL_ITEM_MESSAGE = "must not be null";
+
+    private final MappingIterator<DataPointPayload> payloads;
+    private final Validator validator;
+
+    private int index;
+    private BulkCreateItem unreadable;
+    private boolean finished;
+
+    @Override
+    public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+
+        if (unreadable != null) {
+            return true;
+        }
+
+        try {
+            return payloads.hasNextValue();
+        } catch (IOException e) {
+            unreadable = notReadable(e);
+
+            return true;
+        }
+    }
+
+    @Override
+    public BulkCreateItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (unreadable != null) {
+            finished = true;
+
+            return unreadable;
+        }
+
+        try {
+            return validate(payloads.nextValue());
+        } catch (InvalidFormatException e) {
+            return BulkCreateItem.invalid(index++, toErrors(new InvalidFormatValidationException(e)));
+        } catch (MismatchedInputException e) {
+            return BulkCreateItem.invalid(index++, toErrors(new InvalidFormatValidationException(e)));
+        } catch (IOException e) {
+            finished = true;
+
+            return notReadable(e);
+        }
+    }
+
+    private BulkCreateItem validate(DataPointPayload payload) {
+        int current = index++;
+
+        if (payload == null) {
+            return BulkCreateItem.invalid(
+                    current,
+                    Set.of(new FieldError(null, ErrorMessage.INVALID_ARGUMENT.toString(), NULL_ITEM_MESSAGE))
+            );
+        }
+
+        Set<ConstraintViolation<DataPointPayload>> violations = validator.validate(payload);
+
+        if (!violations.isEmpty()) {
+            return BulkCreateItem.invalid(
+                    current,
+                    ExceptionConverter.convert(new ConstraintViolationException(violations)).getErrors()
+            );
+        }
+
+        return BulkCreateItem.valid(current, DataPointMapper.toCreateModel(payload));
+    }
+
+    private BulkCreateItem notReadable(IOException e) {
+        JsonLocation location = e instanceof JsonProcessingException
+                ? ((JsonProcessingException) e).getLocation()
+                : null;
+
+        return BulkCreateItem.invalid(index++, Set.of(new FieldError(
+                null,
+                ErrorMessage.MESSAGE_NOT_READABLE.toString(),
+                String.format(
+                        NOT_READABLE_MESSAGE,
+                        location != null ? location.getLineNr() : -1,
+                        location != null ? location.getColumnNr() : -1
+                )
+        )));
+    }
+
+    private static Set<FieldError> toErrors(InvalidFormatValidationException e) {
+        if (InvalidFormatExceptionConverter.canConvert(e)) {
+            return InvalidFormatExceptionConverter.convert(e).getErrors();
+        }
+
+        return Set.of(new FieldError(e.getField(), ErrorMessage.MESSAGE_NOT_READABLE.toString(), NOT_BOUND_MESSAGE));
+    }
+}
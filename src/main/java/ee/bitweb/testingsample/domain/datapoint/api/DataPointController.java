@@ -1,24 +1,80 @@
 package ee.bitweb.testingsample.domain.datapoint.api;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
 
+import ee.bitweb.testingsample.domain.datapoint.api.model.BulkCreateResponse;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointLookupPayload;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointLookupResponse;
 import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointMapper;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointPatchPayload;
 import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointPayload;
 import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointResponse;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointSearchResponse;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointStatisticsResponse;
+import ee.bitweb.testingsample.domain.datapoint.api.model.ImportJobResponse;
+import ee.bitweb.testingsample.domain.datapoint.api.model.ImportResultResponse;
+import ee.bitweb.testingsample.domain.datapoint.api.model.ImportRowResponse;
+import ee.bitweb.testingsample.domain.datapoint.api.model.ImportSummaryResponse;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointFilter;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
+import ee.bitweb.testingsample.domain.datapoint.features.DataPointPage;
 import ee.bitweb.testingsample.domain.datapoint.features.FindAllDataPointsFeature;
 import ee.bitweb.testingsample.domain.datapoint.features.GetDataPointByExternalIdFeature;
 import ee.bitweb.testingsample.domain.datapoint.features.GetDataPointByIdFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.GetDataPointStatisticsFeature;
 import ee.bitweb.testingsample.domain.datapoint.features.ImportDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportRowListener;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportSummary;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportedRow;
+import ee.bitweb.testingsample.domain.datapoint.features.ListProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.LookupDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.SearchDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.StreamAllDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.job.GetImportJobFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.job.ImportJob;
+import ee.bitweb.testingsample.domain.datapoint.features.job.SubmitImportJobFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.update.PatchDataPointFeature;
 import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateDataPointsFeature;
 import ee.bitweb.testingsample.domain.datapoint.features.create.CreateDataPointFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.export.ExportDataPointsFeature;
 
 import static ee.bitweb.testingsample.domain.datapoint.api.DataPointController.BASE_URL;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @Slf4j
 @Validated
@@ -28,27 +84,252 @@ import org.springframework.web.bind.annotation.*;
 public class DataPointController {
 
     public static final String BASE_URL = "/data-points";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_ESTIMATE_HEADER = "X-Total-Count-Estimate";
+    public static final String PAGE_COUNT_ESTIMATE_HEADER = "X-Page-Count-Estimate";
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 1000;
+    public static final int DEFAULT_STATISTICS_VALUES = 10;
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    public static final MediaType APPLICATION_GZIP = MediaType.valueOf("application/gzip");
 
     private final CreateDataPointFeature createDataPointFeature;
+    private final BulkCreateDataPointsFeature bulkCreateDataPointsFeature;
     private final UpdateDataPointFeature updateDataPointFeature;
+    private final PatchDataPointFeature patchDataPointFeature;
     private final GetDataPointByIdFeature getDataPointByIdFeature;
     private final GetDataPointByExternalIdFeature getDataPointByExternalIdFeature;
     private final FindAllDataPointsFeature findAllDataPointsFeature;
+    private final StreamAllDataPointsFeature streamAllDataPointsFeature;
+    private final LookupDataPointsFeature lookupDataPointsFeature;
+    private final SearchDataPointsFeature searchDataPointsFeature;
+    private final GetDataPointStatisticsFeature getDataPointStatisticsFeature;
+    private final ExportDataPointsFeature exportDataPointsFeature;
+    private final ListProperties listProperties;
     private final ImportDataPointsFeature importDataPointsFeature;
+    private final SubmitImportJobFeature submitImportJobFeature;
+    private final GetImportJobFeature getImportJobFeature;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
+    /**
+     * Responds with the version of the data point as a strong ETag. A request with If-None-Match is first answered from
+     * the version alone, with 304 when the client's copy is current.
+     */
     @GetMapping(value = "/{id}")
-    public DataPointResponse getOneById(@PathVariable Long id) {
-        return DataPointMapper.toResponse(getDataPointByIdFeature.get(id));
+    public ResponseEntity<DataPointResponse> getOneById(@PathVariable Long id, WebRequest request) {
+        if (isNotModified(request, () -> toETag(getDataPointByIdFeature.getVersion(id)))) {
+            return null;
+        }
+
+        DataPointView point = getDataPointByIdFeature.getView(id);
+
+        return ResponseEntity
+                .ok()
+                .eTag(toETag(point.getVersion()))
+                .body(DataPointMapper.toResponse(point));
     }
 
+    /**
+     * Same as {@link #getOneById(Long, WebRequest)}, by external id.
+     */
     @GetMapping(value = "/external-id/{externalId}")
-    public DataPointResponse getOnyByExternalId(@PathVariable String externalId) {
-        return DataPointMapper.toResponse(getDataPointByExternalIdFeature.get(externalId));
+    public ResponseEntity<DataPointResponse> getOnyByExternalId(@PathVariable String externalId, WebRequest request) {
+        if (isNotModified(request, () -> toETag(getDataPointByExternalIdFeature.getVersion(externalId)))) {
+            return null;
+        }
+
+        DataPointView point = getDataPointByExternalIdFeature.get(externalId);
+
+        return ResponseEntity
+                .ok()
+                .eTag(toETag(point.getVersion()))
+                .body(DataPointMapper.toResponse(point));
     }
 
+    /**
+     * Lists data points ordered by id, a page at a time. When more data points follow, the response carries the cursor
+     * of the next page in the X-Next-Cursor header and a ready made link to it in the Link header. Requested with
+     * estimate=true, the response also carries an estimated total and page count taken from table statistics, the
+     * estimate does not take the filters into account.
+     * <p>
+     * The ETag is the table level change counter, so If-None-Match is answered with 304 without reading the page.
+     */
     @GetMapping
-    public List<DataPointResponse> list() {
-        return DataPointMapper.toResponse(findAllDataPointsFeature.find());
+    public ResponseEntity<List<DataPointResponse>> list(
+            WebRequest request,
+            @RequestParam(required = false) @Positive Long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_LIMIT) @Positive @Max(MAX_PAGE_LIMIT) int limit,
+            @RequestParam(defaultValue = "false") boolean estimate,
+            @RequestParam(required = false) Integer significanceFrom,
+            @RequestParam(required = false) Integer significanceTo,
+            @RequestParam(required = false) String valuePrefix,
+            @RequestParam(required = false) String externalIdPrefix
+    ) {
+        String eTag = toETag(findAllDataPointsFeature.changeCount());
+
+        if (isNotModified(request, () -> eTag)) {
+            return null;
+        }
+
+        DataPointPage page = findAllDataPointsFeature.find(
+                new DataPointFilter(significanceFrom, significanceTo, valuePrefix, externalIdPrefix),
+                after,
+                limit
+        );
+        HttpHeaders headers = new HttpHeaders();
+
+        if (page.hasNext()) {
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+            headers.add(HttpHeaders.LINK, "<" + ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .replaceQueryParam("limit", limit)
+                    .toUriString() + ">; rel=\"next\"");
+        }
+
+        if (estimate) {
+            long total = findAllDataPointsFeature.estimateCount();
+
+            headers.set(TOTAL_COUNT_ESTIMATE_HEADER, Long.toString(total));
+            headers.set(PAGE_COUNT_ESTIMATE_HEADER, Long.toString((total + limit - 1) / limit));
+        }
+
+        return ResponseEntity
+                .ok()
+                .eTag(eTag)
+                .headers(headers)
+                .body(DataPointMapper.toResponse(page.getItems()));
+    }
+
+    /**
+     * Searches data point comments, hits are ordered by rank with the best match first. The query accepts web search
+     * syntax: quoted phrases, "or" and a leading "-" to exclude a word. When more hits follow, the response carries the
+     * cursor of the next page.
+     */
+    @GetMapping(value = "/search")
+    public DataPointSearchResponse search(
+            @RequestParam @NotBlank String q,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_LIMIT) @Positive @Max(MAX_PAGE_LIMIT) int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        return DataPointMapper.toResponse(searchDataPointsFeature.search(q, cursor, limit));
+    }
+
+    /**
+     * Returns data point counts per significance level, totals weighted by significance and the values with the
+     * largest weighted share. Served from summary tables, so the cost does not grow with the number of data points.
+     */
+    @GetMapping(value = "/statistics")
+    public DataPointStatisticsResponse getStatistics(
+            @RequestParam(defaultValue = "" + DEFAULT_STATISTICS_VALUES) @Min(0) @Max(MAX_PAGE_LIMIT) int values
+    ) {
+        return DataPointMapper.toResponse(getDataPointStatisticsFeature.get(values));
+    }
+
+    /**
+     * Streams every data point as a single JSON array, rows are written out as they are read from the database and
+     * the response is flushed after every fetch of rows.
+     */
+    @GetMapping(params = "stream=array", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamArray() {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> {
+                    ObjectWriter writer = objectMapper
+                            .writerFor(DataPointResponse.class)
+                            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+                    int flushEvery = listProperties.getFetchSize();
+                    AtomicLong written = new AtomicLong();
+
+                    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                        generator.writeStartArray();
+                        generator.flush();
+
+                        streamAllDataPointsFeature.stream(point -> {
+                            try {
+                                writer.writeValue(generator, DataPointMapper.toResponse(point));
+
+                                if (written.incrementAndGet() % flushEvery == 0) {
+                                    generator.flush();
+                                }
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+
+                        generator.writeEndArray();
+                    }
+                });
+    }
+
+    /**
+     * Streams every data point as newline delimited JSON, rows are written out as they are read from the database.
+     */
+    @GetMapping(params = "stream=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamNdjson() {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    ObjectWriter writer = objectMapper.writerFor(DataPointResponse.class);
+                    int flushEvery = listProperties.getFetchSize();
+                    AtomicLong written = new AtomicLong();
+
+                    streamAllDataPointsFeature.stream(point -> {
+                        try {
+                            outputStream.write(writer.writeValueAsBytes(DataPointMapper.toResponse(point)));
+                            outputStream.write('\n');
+
+                            if (written.incrementAndGet() % flushEvery == 0) {
+                                outputStream.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                });
+    }
+
+    /**
+     * Exports the data points matching the filters as CSV with a header row, streamed from the database without
+     * holding rows in memory. Rows come in no particular order. With gzip=true the file itself is gzipped, for clients
+     * that store it as is; otherwise the response is compressed on the fly when the client accepts it.
+     */
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Integer significanceFrom,
+            @RequestParam(required = false) Integer significanceTo,
+            @RequestParam(required = false) String valuePrefix,
+            @RequestParam(required = false) String externalIdPrefix,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        DataPointFilter filter = new DataPointFilter(significanceFrom, significanceTo, valuePrefix, externalIdPrefix);
+
+        return ResponseEntity
+                .ok()
+                .contentType(gzip ? APPLICATION_GZIP : TEXT_CSV)
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition
+                                .attachment()
+                                .filename(gzip ? "data-points.csv.gz" : "data-points.csv")
+                                .build()
+                                .toString()
+                )
+                .body(outputStream -> exportDataPointsFeature.export(filter, gzip, outputStream));
+    }
+
+    /**
+     * Looks up many data points with one query. Every requested id and external id is answered in the response, those
+     * without a data point are reported with status NOT_FOUND instead of failing the request.
+     */
+    @PostMapping(value = "/lookup")
+    public DataPointLookupResponse lookup(@RequestBody @Valid DataPointLookupPayload payload) {
+        return DataPointMapper.toResponse(lookupDataPointsFeature.lookup(payload.getIds(), payload.getExternalIds()));
     }
 
     @PostMapping
@@ -60,9 +341,137 @@ public class DataPointController {
         );
     }
 
+    /**
+     * Creates data points from a JSON array or newline delimited JSON of payloads. Items are read, validated and
+     * written in batches as the body streams in, so the body is never held in memory as a whole. Every item is
+     * answered in the response by its position, failures carry the same field errors as a single create.
+     */
+    @PostMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public BulkCreateResponse createBulk(HttpServletRequest request) throws IOException {
+        MappingIterator<DataPointPayload> payloads;
+
+        try {
+            payloads = objectMapper.readerFor(DataPointPayload.class).readValues(request.getInputStream());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException(e.getOriginalMessage(), e, new ServletServerHttpRequest(request));
+        }
+
+        try (payloads) {
+            return DataPointMapper.toBulkCreateResponse(
+                    bulkCreateDataPointsFeature.create(new BulkCreateItemIterator(payloads, validator))
+            );
+        }
+    }
+
+    /**
+     * Imports in the background, the response is returned immediately with the job that can be polled for progress.
+     * The job runs the same import as the synchronous variants below.
+     */
     @PostMapping(value = "/import")
+    public ResponseEntity<ImportJobResponse> submitImport() {
+        return toAcceptedResponse(submitImportJobFeature.submit());
+    }
+
+    /**
+     * Synchronous import, opted into with "response=list". Holds the request until the import is over and returns all
+     * imported data points, which long imports cannot complete within the timeouts in front of the service.
+     * <p>
+     * Synchronous imports are registered as jobs too, they are rejected with 409 Conflict while another import runs.
+     */
+    @PostMapping(value = "/import", params = "response=list")
     public List<DataPointResponse> executeImport() {
-        return DataPointMapper.toResponse(importDataPointsFeature.execute());
+        List<DataPoint> imported = submitImportJobFeature.execute(
+                submitImportJobFeature.begin(),
+                importDataPointsFeature::executeAndCollect
+        );
+
+        return DataPointMapper.toResponse(imported);
+    }
+
+    /**
+     * Returns only the counts of the import, imported rows are not collected.
+     */
+    @PostMapping(value = "/import", params = "response=summary")
+    public ImportSummaryResponse executeImportSummary() {
+        ImportSummary summary = submitImportJobFeature.execute(
+                submitImportJobFeature.begin(),
+                importDataPointsFeature::execute
+        );
+
+        return DataPointMapper.toResponse(summary);
+    }
+
+    /**
+     * Streams the outcome of every row as newline delimited JSON while the import runs, rows are written out chunk by
+     * chunk as soon as the chunk has been committed.
+     */
+    @PostMapping(value = "/import", params = "response=stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> executeImportStream() {
+        ImportJob job = submitImportJobFeature.begin();
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    ObjectWriter writer = objectMapper.writerFor(ImportRowResponse.class);
+
+                    ImportRowListener listener = new ImportRowListener() {
+                        @Override
+                        public void onRow(ImportedRow row) {
+                            job.onRow(row);
+
+                            try {
+                                outputStream.write(writer.writeValueAsBytes(DataPointMapper.toResponse(row)));
+                                outputStream.write('\n');
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+
+                        @Override
+                        public void onChunkCompleted() {
+                            try {
+                                outputStream.flush();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    };
+
+                    submitImportJobFeature.execute(job, running -> importDataPointsFeature.execute(listener));
+                });
+    }
+
+    @GetMapping(value = "/import/{jobId}")
+    public ImportJobResponse getImportJob(@PathVariable String jobId) {
+        return DataPointMapper.toResponse(getImportJobFeature.get(jobId));
+    }
+
+    /**
+     * Synchronous bulk import, rejected with 409 Conflict while another import runs.
+     */
+    @PostMapping(value = "/import/bulk")
+    public ImportResultResponse executeBulkImport(@RequestParam(required = false) ImportProperties.Strategy strategy) {
+        UpsertResult result = submitImportJobFeature.execute(
+                submitImportJobFeature.beginBulk(strategy),
+                job -> importDataPointsFeature.executeBulk(job.getStrategy(), job)
+        );
+
+        return DataPointMapper.toResponse(result);
+    }
+
+    /**
+     * Requested with "Prefer: respond-async" the bulk import runs in the background, response is returned immediately
+     * with the job that can be polled for progress.
+     */
+    @PostMapping(value = "/import/bulk", headers = "Prefer=respond-async")
+    public ResponseEntity<ImportJobResponse> submitBulkImport(
+            @RequestParam(required = false) ImportProperties.Strategy strategy
+    ) {
+        return toAcceptedResponse(submitImportJobFeature.submitBulk(strategy));
     }
 
     @PutMapping(value = "/{id}")
@@ -77,4 +486,73 @@ public class DataPointController {
                 )
         );
     }
+
+    /**
+     * Changes only the fields present in the payload with one conditional update, without reading the data point
+     * first. With If-Match the update only applies while the data point still has one of the given versions, otherwise
+     * the response is 412 Precondition Failed and nothing is changed. Responds with the new version as the ETag.
+     * <p>
+     * A null field counts as left out, so PATCH cannot clear the comment, PUT has to be used for that.
+     */
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<DataPointResponse> patch(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid DataPointPatchPayload payload
+    ) {
+        DataPoint point = patchDataPointFeature.patch(id, DataPointMapper.toPatchModel(payload), toVersions(ifMatch));
+
+        return ResponseEntity
+                .ok()
+                .eTag(toETag(point.getVersion()))
+                .body(DataPointMapper.toResponse(point));
+    }
+
+    private static ResponseEntity<ImportJobResponse> toAcceptedResponse(ImportJob job) {
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder
+                        .fromCurrentContextPath()
+                        .path(BASE_URL + "/import/{jobId}")
+                        .build(job.getId()))
+                .body(DataPointMapper.toResponse(job));
+    }
+
+    /**
+     * Checks If-None-Match against the current ETag, which is only resolved when the request has the header. When the
+     * client's copy is current, the response has been turned into 304 Not Modified and nothing more is to be written.
+     */
+    private static boolean isNotModified(WebRequest request, Supplier<String> eTag) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(eTag.get());
+    }
+
+    private static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the versions from the entity tags of an If-Match header. If-Match compares strongly, so weak tags and tags
+     * that are not versions can never match and are left out. Returns null when any version is acceptable.
+     */
+    private static List<Long> toVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        List<Long> versions = new ArrayList<>();
+
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+
+            if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring entity tag {} in If-Match that is not a version", trimmed);
+                }
+            }
+        }
+
+        return versions;
+    }
 }
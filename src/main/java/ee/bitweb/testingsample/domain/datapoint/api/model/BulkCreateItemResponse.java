@@ -0,0 +1,22 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.util.List;
+
+import ee.bitweb.testingsample.common.api.model.exception.FieldErrorResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class BulkCreateItemResponse {
+    private Integer index;
+    private String externalId;
+    private Long id;
+    private String status;
+    private List<FieldErrorResponse> errors;
+}
@@ -0,0 +1,18 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class BulkCreateResponse {
+    private Integer created;
+    private Integer failed;
+    private List<BulkCreateItemResponse> items;
+}
@@ -0,0 +1,15 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class DataPointLookupEntryResponse {
+    private String status;
+    private DataPointResponse dataPoint;
+}
@@ -0,0 +1,36 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class DataPointLookupPayload {
+
+    public static final int MAX_IDENTIFIERS = 500;
+
+    @NotNull
+    @Size(max = MAX_IDENTIFIERS)
+    private List<@NotNull @Positive Long> ids = new ArrayList<>();
+
+    @NotNull
+    @Size(max = MAX_IDENTIFIERS)
+    private List<@NotBlank String> externalIds = new ArrayList<>();
+
+    @JsonIgnore
+    @AssertTrue(message = "at most " + MAX_IDENTIFIERS + " ids and external ids in total")
+    public boolean isWithinLimit() {
+        return ids == null || externalIds == null || ids.size() + externalIds.size() <= MAX_IDENTIFIERS;
+    }
+}
@@ -0,0 +1,17 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class DataPointLookupResponse {
+    private Map<Long, DataPointLookupEntryResponse> ids;
+    private Map<String, DataPointLookupEntryResponse> externalIds;
+}
@@ -1,12 +1,29 @@
 package ee.bitweb.testingsample.domain.datapoint.api.model;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import ee.bitweb.testingsample.common.api.model.exception.FieldErrorResponse;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSearchHit;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
+import ee.bitweb.testingsample.domain.datapoint.features.DataPointLookup;
+import ee.bitweb.testingsample.domain.datapoint.features.DataPointSearchPage;
+import ee.bitweb.testingsample.domain.datapoint.features.DataPointStatistics;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportSummary;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportedRow;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateItemResult;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateStatus;
 import ee.bitweb.testingsample.domain.datapoint.features.create.CreateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.job.ImportJob;
+import ee.bitweb.testingsample.domain.datapoint.features.update.PatchDataPointModel;
 import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertChunkResult;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertPartitionResult;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -14,6 +31,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class DataPointMapper {
 
+    public static final String LOOKUP_FOUND = "FOUND";
+    public static final String LOOKUP_NOT_FOUND = "NOT_FOUND";
+
     public static CreateDataPointModel toCreateModel(DataPointPayload payload) {
         return new CreateDataPointModel(
                 payload.getExternalId(),
@@ -32,6 +52,15 @@ public class DataPointMapper {
         );
     }
 
+    public static PatchDataPointModel toPatchModel(DataPointPatchPayload payload) {
+        return new PatchDataPointModel(
+                payload.getExternalId(),
+                payload.getValue(),
+                payload.getComment(),
+                payload.getSignificance()
+        );
+    }
+
     public static DataPointResponse toResponse(DataPoint point) {
         return new DataPointResponse(
                 point.getId(),
@@ -42,7 +71,164 @@ public class DataPointMapper {
         );
     }
 
+    public static DataPointResponse toResponse(DataPointView view) {
+        return new DataPointResponse(
+                view.getId(),
+                view.getExternalId(),
+                view.getValue(),
+                view.getComment(),
+                view.getSignificance()
+        );
+    }
+
+    public static DataPointLookupResponse toResponse(DataPointLookup lookup) {
+        Map<Long, DataPointLookupEntryResponse> ids = new LinkedHashMap<>();
+        lookup.getById().forEach((id, point) -> ids.put(id, toLookupEntryResponse(point)));
+
+        Map<String, DataPointLookupEntryResponse> externalIds = new LinkedHashMap<>();
+        lookup.getByExternalId().forEach((id, point) -> externalIds.put(id, toLookupEntryResponse(point)));
+
+        return new DataPointLookupResponse(ids, externalIds);
+    }
+
+    private static DataPointLookupEntryResponse toLookupEntryResponse(DataPoint point) {
+        return point != null
+                ? new DataPointLookupEntryResponse(LOOKUP_FOUND, toResponse(point))
+                : new DataPointLookupEntryResponse(LOOKUP_NOT_FOUND, null);
+    }
+
+    public static DataPointSearchResponse toResponse(DataPointSearchPage page) {
+        return new DataPointSearchResponse(
+                page.getHits().stream().map(DataPointMapper::toResponse).collect(Collectors.toList()),
+                page.getNextCursor()
+        );
+    }
+
+    public static DataPointSearchHitResponse toResponse(DataPointSearchHit hit) {
+        return new DataPointSearchHitResponse(hit.getRank(), toResponse(hit.getPoint()));
+    }
+
+    public static DataPointStatisticsResponse toResponse(DataPointStatistics statistics) {
+        return new DataPointStatisticsResponse(
+                statistics.getTotalCount(),
+                statistics.getWeightedTotal(),
+                statistics.getSignificanceLevels()
+                        .stream()
+                        .map(level -> new SignificanceLevelResponse(
+                                level.getSignificance(),
+                                level.getCount(),
+                                level.getWeightedTotal()
+                        ))
+                        .collect(Collectors.toList()),
+                statistics.getValues()
+                        .stream()
+                        .map(value -> new ValueShareResponse(
+                                value.getValue(),
+                                value.getCount(),
+                                value.getWeightedTotal(),
+                                value.getWeightedShare()
+                        ))
+                        .collect(Collectors.toList())
+        );
+    }
+
+    public static List<DataPointResponse> toResponse(List<DataPointView> views) {
+        return views.stream().map(DataPointMapper::toResponse).collect(Collectors.toList());
+    }
+
     public static List<DataPointResponse> toResponse(Collection<DataPoint> points) {
         return points.stream().map(DataPointMapper::toResponse).collect(Collectors.toList());
     }
+
+    public static BulkCreateResponse toBulkCreateResponse(List<BulkCreateItemResult> results) {
+        int created = (int) results.stream().filter(result -> result.getStatus() == BulkCreateStatus.CREATED).count();
+
+        return new BulkCreateResponse(
+                created,
+                results.size() - created,
+                results.stream().map(DataPointMapper::toResponse).collect(Collectors.toList())
+        );
+    }
+
+    public static BulkCreateItemResponse toResponse(BulkCreateItemResult result) {
+        return new BulkCreateItemResponse(
+                result.getIndex(),
+                result.getExternalId(),
+                result.getId(),
+                result.getStatus().name(),
+                result.getErrors().stream().map(FieldErrorResponse::new).sorted().collect(Collectors.toList())
+        );
+    }
+
+    public static ImportSummaryResponse toResponse(ImportSummary summary) {
+        return new ImportSummaryResponse(
+                summary.getCreated(),
+                summary.getUpdated(),
+                summary.getUnchanged(),
+                summary.getFailed(),
+                summary.getDurationMillis()
+        );
+    }
+
+    public static ImportRowResponse toResponse(ImportedRow row) {
+        return new ImportRowResponse(
+                row.getExternalId(),
+                row.getPoint() != null ? row.getPoint().getId() : null,
+                row.getStatus().name()
+        );
+    }
+
+    public static ImportResultResponse toResponse(UpsertResult result) {
+        return new ImportResultResponse(
+                result.getInserted(),
+                result.getUpdated(),
+                result.getUnchanged(),
+                result.getDuplicates(),
+                result.getChunks().stream().map(DataPointMapper::toResponse).collect(Collectors.toList()),
+                result.getPartitions().stream().map(DataPointMapper::toResponse).collect(Collectors.toList())
+        );
+    }
+
+    public static ImportPartitionResponse toResponse(UpsertPartitionResult partition) {
+        return new ImportPartitionResponse(
+                partition.getIndex(),
+                partition.getResult().getSize(),
+                partition.getResult().getInserted(),
+                partition.getResult().getUpdated(),
+                partition.getResult().getUnchanged(),
+                partition.getResult().getDuplicates(),
+                partition.getDurationMillis()
+        );
+    }
+
+    public static ImportChunkResponse toResponse(UpsertChunkResult chunk) {
+        return new ImportChunkResponse(
+                chunk.getIndex(),
+                chunk.getSize(),
+                chunk.getInserted(),
+                chunk.getUpdated(),
+                chunk.getUnchanged(),
+                chunk.getDuplicates(),
+                chunk.getDurationMillis()
+        );
+    }
+
+    public static ImportJobResponse toResponse(ImportJob job) {
+        return new ImportJobResponse(
+                job.getId(),
+                job.getStatus().name(),
+                job.isBulk() ? job.getStrategy().name() : null,
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getProcessed(),
+                job.getInserted(),
+                job.getUpdated(),
+                job.getUnchanged(),
+                job.getDuplicates(),
+                job.getFailed(),
+                job.getRowsPerSecond(),
+                List.copyOf(job.getErrors())
+        );
+    }
 }
@@ -0,0 +1,32 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Fields left out or null are not changed, so the comment cannot be cleared this way. Fields that are given follow the
+ * constraints of {@link DataPointPayload}.
+ */
+@Getter
+@Setter
+@ToString
+public class DataPointPatchPayload {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+    private static final String NOT_BLANK_MESSAGE = "must not be blank";
+
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String externalId;
+
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String value;
+
+    private String comment;
+
+    @Positive
+    private Integer significance;
+}
@@ -0,0 +1,17 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class DataPointSearchResponse {
+    private List<DataPointSearchHitResponse> items;
+    private String nextCursor;
+}
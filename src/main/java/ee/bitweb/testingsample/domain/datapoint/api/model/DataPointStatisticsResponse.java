@@ -0,0 +1,19 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class DataPointStatisticsResponse {
+    private long totalCount;
+    private long weightedTotal;
+    private List<SignificanceLevelResponse> significanceLevels;
+    private List<ValueShareResponse> values;
+}
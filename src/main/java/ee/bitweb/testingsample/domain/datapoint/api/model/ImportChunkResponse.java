@@ -0,0 +1,20 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class ImportChunkResponse {
+    private Integer index;
+    private Integer size;
+    private Integer inserted;
+    private Integer updated;
+    private Integer unchanged;
+    private Integer duplicates;
+    private Long durationMillis;
+}
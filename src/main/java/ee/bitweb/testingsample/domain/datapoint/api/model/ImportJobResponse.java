@@ -0,0 +1,33 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class ImportJobResponse {
+    private String id;
+    private String status;
+    /**
+     * Strategy of a bulk import, null for the regular import.
+     */
+    private String strategy;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long processed;
+    private Long inserted;
+    private Long updated;
+    private Long unchanged;
+    private Long duplicates;
+    private Long failed;
+    private Double rowsPerSecond;
+    private List<String> errors;
+}
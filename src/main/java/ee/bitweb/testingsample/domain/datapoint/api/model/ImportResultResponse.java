@@ -0,0 +1,21 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class ImportResultResponse {
+    private Integer inserted;
+    private Integer updated;
+    private Integer unchanged;
+    private Integer duplicates;
+    private List<ImportChunkResponse> chunks;
+    private List<ImportPartitionResponse> partitions;
+}
@@ -0,0 +1,16 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class ImportRowResponse {
+    private String externalId;
+    private Long id;
+    private String status;
+}
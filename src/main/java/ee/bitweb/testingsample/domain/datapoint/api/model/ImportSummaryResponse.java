@@ -0,0 +1,18 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class ImportSummaryResponse {
+    private Integer created;
+    private Integer updated;
+    private Integer unchanged;
+    private Integer failed;
+    private Long durationMillis;
+}
@@ -0,0 +1,16 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class SignificanceLevelResponse {
+    private int significance;
+    private long count;
+    private long weightedTotal;
+}
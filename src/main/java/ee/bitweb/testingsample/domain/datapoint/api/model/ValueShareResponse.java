@@ -0,0 +1,17 @@
+package ee.bitweb.testingsample.domain.datapoint.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+public class ValueShareResponse {
+    private String value;
+    private long count;
+    private long weightedTotal;
+    private double weightedShare;
+}
@@ -0,0 +1,22 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkWriteResult {
+
+    private final int inserted;
+    private final int updated;
+    /**
+     * Repeated occurrences of an external id that were superseded by a later occurrence and not written themselves.
+     */
+    private final int duplicates;
+
+    public BulkWriteResult(int inserted, int updated) {
+        this(inserted, updated, 0);
+    }
+}
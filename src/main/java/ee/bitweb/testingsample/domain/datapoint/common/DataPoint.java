@@ -13,8 +13,12 @@ import lombok.ToString;
 @ToString
 public class DataPoint {
 
+    /**
+     * Allocation size has to match the increment of data_point_id_seq.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "data_point_id")
+    @SequenceGenerator(name = "data_point_id", sequenceName = "data_point_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -35,4 +39,23 @@ public class DataPoint {
      */
     @Column(nullable = false)
     private Integer significance = 1;
+
+    /**
+     * {@link DataPointContentHash} of the current content, null for rows not written since the column was added.
+     */
+    @Column
+    private Long contentHash;
+
+    /**
+     * Incremented on every update, also by bulk upserts. Serves as the ETag of the data point.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void updateContentHash() {
+        contentHash = DataPointContentHash.of(this);
+    }
 }
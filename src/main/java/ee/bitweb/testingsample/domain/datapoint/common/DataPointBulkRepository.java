@@ -0,0 +1,121 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Set-based write operations that bypass the persistence context. Entities passed in are used as plain value holders,
+ * they are neither attached nor updated with generated identifiers.
+ */
+public interface DataPointBulkRepository {
+
+    /**
+     * Inserts or updates (by external id) all given data points with a single statement. External ids must be unique
+     * within one call. Rows whose stored content hash already matches are left untouched and are not counted.
+     */
+    BulkWriteResult upsert(Collection<DataPoint> points);
+
+    /**
+     * Inserts all given data points with a single statement, skipping those whose external id already exists, either
+     * in the table or earlier in the same call.
+     *
+     * @return generated id by external id for every data point that was inserted
+     */
+    Map<String, Long> insertAbsent(List<DataPoint> points);
+
+    /**
+     * Updates the non-null fields of the given data point, found by its id, with a single statement and increments its
+     * version. The content hash is computed by the database function data_point_content_hash, which mirrors
+     * {@link DataPointContentHash}, so an import of the same content afterwards still finds it unchanged.
+     *
+     * @param versions versions the stored data point has to have for the update to apply, null for any version
+     * @return the data point as updated, empty when there is no data point with the id or its version is not one of
+     * the given ones
+     */
+    Optional<DataPoint> patch(DataPoint changes, Collection<Long> versions);
+
+    /**
+     * Streams all data points into a staging table with COPY and merges it into data_point with a single upsert. When
+     * an external id occurs more than once, its last occurrence wins and the others are counted as duplicates. Has to
+     * run within a transaction, the staging table only lives until the end of it.
+     */
+    BulkWriteResult copyAndMerge(Iterator<DataPoint> points);
+
+    /**
+     * @return stored content hash by external id for every given external id that exists, the hash is null for rows
+     * that have not been hashed yet
+     */
+    Map<String, Long> findContentHashes(Collection<String> externalIds);
+
+    /**
+     * Reads all data points ordered by id through a server-side cursor, fetching the given number of rows per round
+     * trip. Returned data points are never attached to the persistence context. Has to be consumed within a
+     * transaction and closed afterwards, otherwise the driver reads the whole result into memory at once.
+     */
+    Stream<DataPoint> streamAll(int fetchSize);
+
+    /**
+     * Reads the external ids of all data points through a server-side cursor, with the same requirements as
+     * {@link #streamAll(int)}.
+     */
+    Stream<String> streamExternalIds(int fetchSize);
+
+    /**
+     * Writes the data points matching the filter as CSV with a header row to the given stream, straight from COPY TO
+     * STDOUT. Rows are passed through as the server sends them and are never mapped to objects, they come in no
+     * particular order. Being a single statement, the export reads one consistent snapshot without a transaction.
+     *
+     * @return number of data points written
+     */
+    long copyOutCsv(DataPointFilter filter, OutputStream out);
+
+    /**
+     * Full-text search over comments, ordered by rank and then id. Rows are matched and ranked on the stored search
+     * vector, comments are only read for the returned page.
+     *
+     * @param query search terms in web search syntax: quoted phrases, "or" and "-" for exclusion are supported
+     * @param after last hit of the previous page, null for the first page
+     */
+    List<DataPointSearchHit> searchComments(String query, DataPointSearchHit after, int limit);
+
+    /**
+     * Reads the summary that database triggers keep up to date within every transaction writing data_point, so it is
+     * exact and costs a read of a handful of rows instead of a table scan. Triggers only append deltas, the deltas not
+     * yet folded by {@link #foldSummary()} are added on read.
+     *
+     * @return data point count for every significance level in use, ordered by significance
+     */
+    List<SignificanceSummary> findSignificanceSummary();
+
+    /**
+     * Reads the value summary maintained together with {@link #findSignificanceSummary()}.
+     *
+     * @return values with the largest weighted total first, at most limit of them
+     */
+    List<ValueSummary> findValueSummary(int limit);
+
+    /**
+     * Folds the committed summary deltas into the summary tables in a transaction of its own, which keeps the deltas
+     * read along with the summary few. Does not wait for writers, only for another fold running at the same time.
+     *
+     * @return number of delta rows folded
+     */
+    long foldSummary();
+
+    /**
+     * @return number of committed statements that changed data_point, as seen by the current snapshot. It only ever
+     * grows, so an unchanged value means the table has not changed.
+     */
+    long findChangeCount();
+
+    /**
+     * @return row count of data_point as last recorded by the planner statistics (ANALYZE / autovacuum), it is never
+     * negative but may lag behind recent writes
+     */
+    long estimateCount();
+}
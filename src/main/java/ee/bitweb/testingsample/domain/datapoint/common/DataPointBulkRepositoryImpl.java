@@ -0,0 +1,516 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.Utils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.util.StringUtils;
+
+@Slf4j
+@RequiredArgsConstructor
+public class DataPointBulkRepositoryImpl implements DataPointBulkRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO data_point (external_id, value, comment, significance, content_hash) "
+            + "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::text[], ?::integer[], ?::bigint[]) "
+            + "ON CONFLICT (external_id) DO UPDATE SET "
+            + "value = EXCLUDED.value, comment = EXCLUDED.comment, significance = EXCLUDED.significance, "
+            + "content_hash = EXCLUDED.content_hash, version = data_point.version + 1 "
+            + "WHERE data_point.content_hash IS DISTINCT FROM EXCLUDED.content_hash "
+            + "RETURNING (xmax = 0) AS inserted";
+
+    private static final String INSERT_ABSENT_SQL = "INSERT INTO data_point "
+            + "(external_id, value, comment, significance, content_hash) "
+            + "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::text[], ?::integer[], ?::bigint[]) "
+            + "ON CONFLICT (external_id) DO NOTHING "
+            + "RETURNING id, external_id";
+
+    private static final String PATCH_SQL = "UPDATE data_point SET "
+            + "external_id = coalesce(?, external_id), value = coalesce(?, value), "
+            + "comment = coalesce(?, comment), significance = coalesce(?, significance), "
+            + "content_hash = data_point_content_hash(coalesce(?, external_id), coalesce(?, value), "
+            + "coalesce(?, comment), coalesce(?::integer, significance)), "
+            + "version = version + 1 "
+            + "WHERE id = ? AND (?::bigint[] IS NULL OR version = ANY(?::bigint[])) "
+            + "RETURNING id, external_id, value, comment, significance, content_hash, version";
+
+    private static final String CONTENT_HASHES_SQL = "SELECT external_id, content_hash FROM data_point "
+            + "WHERE external_id = ANY(?::varchar[])";
+
+    private static final String STREAM_ALL_SQL = "SELECT id, external_id, value, comment, significance, content_hash "
+            + "FROM data_point ORDER BY id";
+
+    private static final String STREAM_EXTERNAL_IDS_SQL = "SELECT external_id FROM data_point";
+
+    private static final String SEARCH_COMMENTS_SQL = "WITH page AS ("
+            + "SELECT d.id, ts_rank_cd(d.comment_search, q) AS rank "
+            + "FROM data_point d, websearch_to_tsquery('simple', ?) q "
+            + "WHERE d.comment_search @@ q %s "
+            + "ORDER BY rank DESC, d.id LIMIT ?) "
+            + "SELECT p.rank, d.id, d.external_id, d.value, d.comment, d.significance, d.content_hash "
+            + "FROM page p JOIN data_point d ON d.id = p.id "
+            + "ORDER BY p.rank DESC, d.id";
+
+    private static final String SEARCH_COMMENTS_AFTER_SQL = "AND (ts_rank_cd(d.comment_search, q) < ?::real "
+            + "OR (ts_rank_cd(d.comment_search, q) = ?::real AND d.id > ?))";
+
+    private static final String SIGNIFICANCE_SUMMARY_SQL = "SELECT significance, sum(point_count) AS point_count "
+            + "FROM (SELECT significance, point_count FROM data_point_significance_summary "
+            + "UNION ALL SELECT significance, point_count FROM data_point_significance_summary_delta) s "
+            + "GROUP BY significance HAVING sum(point_count) <> 0 ORDER BY significance";
+
+    /**
+     * A value that has no pending delta keeps its folded total, so the top of the summary, extended by one row for
+     * every pending value that may have dropped out of it, together with all pending values holds the largest totals.
+     */
+    private static final String VALUE_SUMMARY_SQL = "WITH pending AS ("
+            + "SELECT value, sum(point_count) AS point_count, sum(weighted_total) AS weighted_total "
+            + "FROM data_point_value_summary_delta GROUP BY value), "
+            + "candidates AS ((SELECT value FROM data_point_value_summary ORDER BY weighted_total DESC, value "
+            + "LIMIT ? + (SELECT count(*) FROM pending)) UNION SELECT value FROM pending), "
+            + "merged AS (SELECT c.value, "
+            + "coalesce(s.point_count, 0) + coalesce(p.point_count, 0) AS point_count, "
+            + "coalesce(s.weighted_total, 0) + coalesce(p.weighted_total, 0) AS weighted_total "
+            + "FROM candidates c "
+            + "LEFT JOIN data_point_value_summary s ON s.value = c.value "
+            + "LEFT JOIN pending p ON p.value = c.value) "
+            + "SELECT value, point_count, weighted_total FROM merged WHERE point_count <> 0 "
+            + "ORDER BY weighted_total DESC, value LIMIT ?";
+
+    private static final String FOLD_SUMMARY_SQL = "SELECT data_point_summary_fold()";
+
+    private static final String CHANGE_COUNT_SQL = "SELECT coalesce(sum(changes), 0) FROM data_point_change_counter";
+
+    private static final String ESTIMATE_COUNT_SQL = "SELECT reltuples::bigint FROM pg_class "
+            + "WHERE oid = 'data_point'::regclass";
+
+    private static final String CREATE_STAGING_SQL = "CREATE UNLOGGED TABLE %s ("
+            + "ordinal BIGINT NOT NULL, external_id VARCHAR(255), value VARCHAR(255), comment TEXT, "
+            + "significance INTEGER, content_hash BIGINT)";
+
+    private static final String COPY_STAGING_SQL = "COPY %s "
+            + "(ordinal, external_id, value, comment, significance, content_hash) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_STAGING_SQL = "WITH merged AS ("
+            + "INSERT INTO data_point (external_id, value, comment, significance, content_hash) "
+            + "SELECT DISTINCT ON (external_id) external_id, value, comment, significance, content_hash FROM %1$s "
+            + "ORDER BY external_id, ordinal DESC "
+            + "ON CONFLICT (external_id) DO UPDATE SET "
+            + "value = EXCLUDED.value, comment = EXCLUDED.comment, significance = EXCLUDED.significance, "
+            + "content_hash = EXCLUDED.content_hash, version = data_point.version + 1 "
+            + "WHERE data_point.content_hash IS DISTINCT FROM EXCLUDED.content_hash "
+            + "RETURNING (xmax = 0) AS inserted) "
+            + "SELECT count(*) FILTER (WHERE inserted) AS inserted, count(*) FILTER (WHERE NOT inserted) AS updated, "
+            + "(SELECT count(*) - count(DISTINCT external_id) FROM %1$s) AS duplicates "
+            + "FROM merged";
+
+    private static final String DROP_STAGING_SQL = "DROP TABLE %s";
+
+    private static final String COPY_OUT_COLUMNS = "id, external_id, value, comment, significance";
+
+    private static final String COPY_OUT_TABLE_SQL = "COPY data_point (" + COPY_OUT_COLUMNS + ") "
+            + "TO STDOUT WITH (FORMAT csv, HEADER)";
+
+    private static final String COPY_OUT_QUERY_SQL = "COPY (SELECT " + COPY_OUT_COLUMNS + " FROM data_point WHERE %s) "
+            + "TO STDOUT WITH (FORMAT csv, HEADER)";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public BulkWriteResult upsert(Collection<DataPoint> points) {
+        if (points.isEmpty()) {
+            return new BulkWriteResult(0, 0);
+        }
+
+        List<Boolean> inserted = jdbcTemplate.query(
+                connection -> prepareWithArrays(connection, UPSERT_SQL, points),
+                (rs, rowNum) -> rs.getBoolean("inserted")
+        );
+
+        int insertedCount = (int) inserted.stream().filter(Boolean::booleanValue).count();
+
+        return new BulkWriteResult(insertedCount, inserted.size() - insertedCount);
+    }
+
+    @Override
+    public Map<String, Long> insertAbsent(List<DataPoint> points) {
+        Map<String, Long> ids = new HashMap<>();
+
+        if (points.isEmpty()) {
+            return ids;
+        }
+
+        jdbcTemplate.query(
+                connection -> prepareWithArrays(connection, INSERT_ABSENT_SQL, points),
+                rs -> {
+                    ids.put(rs.getString("external_id"), rs.getLong("id"));
+                }
+        );
+
+        return ids;
+    }
+
+    @Override
+    public Optional<DataPoint> patch(DataPoint changes, Collection<Long> versions) {
+        List<DataPoint> patched = jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(PATCH_SQL);
+                    Array versionArray = versions != null
+                            ? connection.createArrayOf("bigint", versions.toArray())
+                            : null;
+
+                    for (int offset : new int[]{0, 4}) {
+                        statement.setString(offset + 1, changes.getExternalId());
+                        statement.setString(offset + 2, changes.getValue());
+                        statement.setString(offset + 3, changes.getComment());
+                        statement.setObject(offset + 4, changes.getSignificance(), Types.INTEGER);
+                    }
+
+                    statement.setLong(9, changes.getId());
+                    statement.setArray(10, versionArray);
+                    statement.setArray(11, versionArray);
+
+                    return statement;
+                },
+                (rs, rowNum) -> {
+                    DataPoint point = toDataPoint(rs);
+                    point.setVersion(rs.getLong("version"));
+
+                    return point;
+                }
+        );
+
+        return patched.stream().findFirst();
+    }
+
+    @Override
+    public Map<String, Long> findContentHashes(Collection<String> externalIds) {
+        Map<String, Long> hashes = new HashMap<>();
+
+        if (externalIds.isEmpty()) {
+            return hashes;
+        }
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(CONTENT_HASHES_SQL);
+                    statement.setArray(1, connection.createArrayOf("varchar", externalIds.toArray()));
+
+                    return statement;
+                },
+                rs -> {
+                    long hash = rs.getLong("content_hash");
+                    hashes.put(rs.getString("external_id"), rs.wasNull() ? null : hash);
+                }
+        );
+
+        return hashes;
+    }
+
+    @Override
+    public Stream<DataPoint> streamAll(int fetchSize) {
+        return jdbcTemplate.queryForStream(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(STREAM_ALL_SQL);
+                    statement.setFetchSize(fetchSize);
+
+                    return statement;
+                },
+                (rs, rowNum) -> toDataPoint(rs)
+        );
+    }
+
+    @Override
+    public Stream<String> streamExternalIds(int fetchSize) {
+        return jdbcTemplate.queryForStream(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(STREAM_EXTERNAL_IDS_SQL);
+                    statement.setFetchSize(fetchSize);
+
+                    return statement;
+                },
+                (rs, rowNum) -> rs.getString(1)
+        );
+    }
+
+    @Override
+    public long copyOutCsv(DataPointFilter filter, OutputStream out) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            BaseConnection baseConnection = connection.unwrap(BaseConnection.class);
+            String condition = toCondition(filter, baseConnection.getStandardConformingStrings());
+            String sql = condition.isEmpty() ? COPY_OUT_TABLE_SQL : String.format(COPY_OUT_QUERY_SQL, condition);
+
+            try {
+                return baseConnection.getCopyAPI().copyOut(sql, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return copied == null ? 0 : copied;
+    }
+
+    @Override
+    public List<DataPointSearchHit> searchComments(String query, DataPointSearchHit after, int limit) {
+        RowMapper<DataPointSearchHit> mapper = (rs, rowNum) -> new DataPointSearchHit(
+                toDataPoint(rs),
+                rs.getFloat("rank")
+        );
+
+        if (after == null) {
+            return jdbcTemplate.query(String.format(SEARCH_COMMENTS_SQL, ""), mapper, query, limit);
+        }
+
+        return jdbcTemplate.query(
+                String.format(SEARCH_COMMENTS_SQL, SEARCH_COMMENTS_AFTER_SQL),
+                mapper,
+                query,
+                after.getRank(),
+                after.getRank(),
+                after.getPoint().getId(),
+                limit
+        );
+    }
+
+    @Override
+    public List<SignificanceSummary> findSignificanceSummary() {
+        return jdbcTemplate.query(
+                SIGNIFICANCE_SUMMARY_SQL,
+                (rs, rowNum) -> new SignificanceSummary(rs.getInt("significance"), rs.getLong("point_count"))
+        );
+    }
+
+    @Override
+    public List<ValueSummary> findValueSummary(int limit) {
+        return jdbcTemplate.query(
+                VALUE_SUMMARY_SQL,
+                (rs, rowNum) -> new ValueSummary(
+                        rs.getString("value"),
+                        rs.getLong("point_count"),
+                        rs.getLong("weighted_total")
+                ),
+                limit,
+                limit
+        );
+    }
+
+    @Override
+    public long foldSummary() {
+        Long folded = jdbcTemplate.queryForObject(FOLD_SUMMARY_SQL, Long.class);
+
+        return folded == null ? 0 : folded;
+    }
+
+    @Override
+    public long findChangeCount() {
+        Long changes = jdbcTemplate.queryForObject(CHANGE_COUNT_SQL, Long.class);
+
+        return changes == null ? 0 : changes;
+    }
+
+    @Override
+    public long estimateCount() {
+        Long estimate = jdbcTemplate.queryForObject(ESTIMATE_COUNT_SQL, Long.class);
+
+        // reltuples is -1 for a table that has never been vacuumed or analyzed
+        return estimate == null ? 0 : Math.max(estimate, 0);
+    }
+
+    @Override
+    public BulkWriteResult copyAndMerge(Iterator<DataPoint> points) {
+        String staging = "data_point_staging_" + UUID.randomUUID().toString().replace("-", "");
+
+        return jdbcTemplate.execute((ConnectionCallback<BulkWriteResult>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(String.format(CREATE_STAGING_SQL, staging));
+            }
+
+            long copied = copy(connection, staging, points);
+            log.info("Copied {} data points into {}", copied, staging);
+
+            BulkWriteResult result;
+            try (
+                    Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(String.format(MERGE_STAGING_SQL, staging))
+            ) {
+                rs.next();
+                result = new BulkWriteResult(rs.getInt("inserted"), rs.getInt("updated"), rs.getInt("duplicates"));
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(String.format(DROP_STAGING_SQL, staging));
+            }
+
+            return result;
+        });
+    }
+
+    private long copy(Connection connection, String staging, Iterator<DataPoint> points) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn(String.format(COPY_STAGING_SQL, staging));
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE + 1024);
+            StringBuilder row = new StringBuilder();
+            long ordinal = 0;
+
+            while (points.hasNext()) {
+                writeRow(row, ordinal++, points.next());
+                buffer.writeBytes(row.toString().getBytes(StandardCharsets.UTF_8));
+                row.setLength(0);
+
+                if (buffer.size() >= COPY_BUFFER_SIZE) {
+                    copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                    buffer.reset();
+                }
+            }
+
+            if (buffer.size() > 0) {
+                copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            }
+
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * Binds the data points column by column as arrays, in the order of the columns unnested by the statement.
+     */
+    private static PreparedStatement prepareWithArrays(
+            Connection connection,
+            String sql,
+            Collection<DataPoint> points
+    ) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+
+        statement.setArray(1, connection.createArrayOf(
+                "varchar", points.stream().map(DataPoint::getExternalId).toArray()
+        ));
+        statement.setArray(2, connection.createArrayOf(
+                "varchar", points.stream().map(DataPoint::getValue).toArray()
+        ));
+        statement.setArray(3, connection.createArrayOf(
+                "text", points.stream().map(DataPoint::getComment).toArray()
+        ));
+        statement.setArray(4, connection.createArrayOf(
+                "integer", points.stream().map(DataPoint::getSignificance).toArray()
+        ));
+        statement.setArray(5, connection.createArrayOf(
+                "bigint", points.stream().map(DataPointContentHash::of).toArray()
+        ));
+
+        return statement;
+    }
+
+    private static void writeRow(StringBuilder row, long ordinal, DataPoint point) {
+        row.append(ordinal).append(',');
+        writeValue(row, point.getExternalId());
+        row.append(',');
+        writeValue(row, point.getValue());
+        row.append(',');
+        writeValue(row, point.getComment());
+        row.append(',');
+        if (point.getSignificance() != null) {
+            row.append(point.getSignificance());
+        }
+        row.append(',').append(DataPointContentHash.of(point)).append('\n');
+    }
+
+    /**
+     * In CSV format an unquoted empty field is NULL, so every non-null value is quoted to keep empty strings apart.
+     */
+    private static void writeValue(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+
+        row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * COPY takes no bind parameters, so the filter is rendered into the statement. Numbers are written as is and
+     * strings are escaped by the driver for the connection's string literal syntax, the same way it does for
+     * parameters in simple query mode. Conditions mirror {@link DataPointFilter#toSpecification()}.
+     */
+    private static String toCondition(DataPointFilter filter, boolean standardConformingStrings) throws SQLException {
+        List<String> conditions = new ArrayList<>();
+
+        if (filter.getSignificanceFrom() != null) {
+            conditions.add("significance >= " + filter.getSignificanceFrom());
+        }
+
+        if (filter.getSignificanceTo() != null) {
+            conditions.add("significance <= " + filter.getSignificanceTo());
+        }
+
+        if (StringUtils.hasLength(filter.getValuePrefix())) {
+            conditions.add("value LIKE " + toLikeCondition(filter.getValuePrefix(), standardConformingStrings));
+        }
+
+        if (StringUtils.hasLength(filter.getExternalIdPrefix())) {
+            conditions.add(
+                    "external_id LIKE " + toLikeCondition(filter.getExternalIdPrefix(), standardConformingStrings)
+            );
+        }
+
+        return String.join(" AND ", conditions);
+    }
+
+    private static String toLikeCondition(String prefix, boolean standardConformingStrings) throws SQLException {
+        return toLiteral(DataPointSpecification.toLikePrefix(prefix), standardConformingStrings)
+                + " ESCAPE "
+                + toLiteral(String.valueOf(DataPointSpecification.ESCAPE), standardConformingStrings);
+    }
+
+    private static String toLiteral(String value, boolean standardConformingStrings) throws SQLException {
+        return "'" + Utils.escapeLiteral(null, value, standardConformingStrings) + "'";
+    }
+
+    private static DataPoint toDataPoint(ResultSet rs) throws SQLException {
+        DataPoint point = new DataPoint();
+
+        point.setId(rs.getLong("id"));
+        point.setExternalId(rs.getString("external_id"));
+        point.setValue(rs.getString("value"));
+        point.setComment(rs.getString("comment"));
+        point.setSignificance(rs.getInt("significance"));
+
+        long hash = rs.getLong("content_hash");
+        point.setContentHash(rs.wasNull() ? null : hash);
+
+        return point;
+    }
+}
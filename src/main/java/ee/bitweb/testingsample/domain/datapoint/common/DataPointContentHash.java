@@ -0,0 +1,58 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * 64-bit hash of everything a data point consists of apart from its id. Used to detect whether incoming data differs
+ * from what is already stored without comparing the fields one by one. Not meant to be cryptographically secure.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DataPointContentHash {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final int NULL_MARKER = -1;
+
+    public static long of(DataPoint point) {
+        return of(point.getExternalId(), point.getValue(), point.getComment(), point.getSignificance());
+    }
+
+    public static long of(String externalId, String value, String comment, Integer significance) {
+        long hash = OFFSET_BASIS;
+
+        hash = mix(hash, externalId);
+        hash = mix(hash, value);
+        hash = mix(hash, comment);
+        hash = mix(hash, significance != null ? significance : NULL_MARKER);
+
+        return finish(hash);
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, NULL_MARKER);
+        }
+
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * PRIME;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
@@ -0,0 +1,43 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+/**
+ * Optional list filters, every criterion left null matches all data points.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataPointFilter {
+
+    public static final DataPointFilter NONE = new DataPointFilter(null, null, null, null);
+
+    private final Integer significanceFrom;
+    private final Integer significanceTo;
+    private final String valuePrefix;
+    private final String externalIdPrefix;
+
+    public Specification<DataPoint> toSpecification() {
+        Specification<DataPoint> specification = Specification.where(null);
+
+        if (significanceFrom != null || significanceTo != null) {
+            specification = specification.and(
+                    DataPointSpecification.significanceBetween(significanceFrom, significanceTo)
+            );
+        }
+
+        if (StringUtils.hasLength(valuePrefix)) {
+            specification = specification.and(DataPointSpecification.valueStartsWith(valuePrefix));
+        }
+
+        if (StringUtils.hasLength(externalIdPrefix)) {
+            specification = specification.and(DataPointSpecification.externalIdStartsWith(externalIdPrefix));
+        }
+
+        return specification;
+    }
+}
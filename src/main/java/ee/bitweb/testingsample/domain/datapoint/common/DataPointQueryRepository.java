@@ -0,0 +1,30 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specification queries that {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor} cannot express
+ * without an additional count query, or at all as projections.
+ */
+public interface DataPointQueryRepository {
+
+    /**
+     * Reads the data points matching the specification as projections within a read-only transaction.
+     *
+     * @return at most limit data points matching the specification, ordered by id
+     */
+    List<DataPointView> findViewsOrderedById(Specification<DataPoint> specification, int limit);
+
+    /**
+     * Reads the single data point matching the specification as a projection within a read-only transaction.
+     */
+    Optional<DataPointView> findView(Specification<DataPoint> specification);
+
+    /**
+     * Reads only the version of the single data point matching the specification, within a read-only transaction.
+     */
+    Optional<Long> findVersion(Specification<DataPoint> specification);
+}
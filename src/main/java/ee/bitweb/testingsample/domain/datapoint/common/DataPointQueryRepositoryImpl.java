@@ -0,0 +1,103 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class DataPointQueryRepositoryImpl implements DataPointQueryRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Read-only transactions switch the Hibernate session to read-only with manual flushing, as for the read methods of
+     * {@link org.springframework.data.jpa.repository.support.SimpleJpaRepository}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<DataPointView> findViewsOrderedById(Specification<DataPoint> specification, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DataPointView> query = builder.createQuery(DataPointView.class);
+        Root<DataPoint> root = query.from(DataPoint.class);
+
+        query.select(view(root, builder));
+        where(query, root, builder, specification);
+        query.orderBy(builder.asc(root.get(DataPoint_.id)));
+
+        return entityManager
+                .createQuery(query)
+                .setHint(QueryHints.READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DataPointView> findView(Specification<DataPoint> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DataPointView> query = builder.createQuery(DataPointView.class);
+        Root<DataPoint> root = query.from(DataPoint.class);
+
+        query.select(view(root, builder));
+        where(query, root, builder, specification);
+
+        return entityManager
+                .createQuery(query)
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Specification<DataPoint> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<DataPoint> root = query.from(DataPoint.class);
+
+        query.select(root.get(DataPoint_.version));
+        where(query, root, builder, specification);
+
+        return entityManager
+                .createQuery(query)
+                .getResultStream()
+                .findFirst();
+    }
+
+    private static CompoundSelection<DataPointView> view(
+            Root<DataPoint> root,
+            CriteriaBuilder builder
+    ) {
+        return builder.construct(
+                DataPointView.class,
+                root.get(DataPoint_.id),
+                root.get(DataPoint_.externalId),
+                root.get(DataPoint_.value),
+                root.get(DataPoint_.comment),
+                root.get(DataPoint_.significance),
+                root.get(DataPoint_.version)
+        );
+    }
+
+    private static void where(
+            CriteriaQuery<?> query,
+            Root<DataPoint> root,
+            CriteriaBuilder builder,
+            Specification<DataPoint> specification
+    ) {
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, builder) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
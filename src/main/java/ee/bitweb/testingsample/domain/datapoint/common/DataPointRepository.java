@@ -5,4 +5,8 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface DataPointRepository extends JpaRepository<DataPoint, Long>, JpaSpecificationExecutor<DataPoint> {}
+public interface DataPointRepository extends
+        JpaRepository<DataPoint, Long>,
+        JpaSpecificationExecutor<DataPoint>,
+        DataPointBulkRepository,
+        DataPointQueryRepository {}
@@ -0,0 +1,18 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataPointSearchHit {
+
+    private final DataPoint point;
+
+    /**
+     * Cover density rank of the comment for the query, higher ranks match better.
+     */
+    private final float rank;
+}
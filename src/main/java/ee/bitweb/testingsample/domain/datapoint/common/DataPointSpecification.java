@@ -1,5 +1,7 @@
 package ee.bitweb.testingsample.domain.datapoint.common;
 
+import java.util.Collection;
+
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
@@ -7,11 +9,61 @@ import org.springframework.data.jpa.domain.Specification;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class DataPointSpecification {
 
+    static final char ESCAPE = '\\';
+
     public static Specification<DataPoint> id(Long id) {
         return (root, query, builder) -> builder.equal(root.get(DataPoint_.id), id);
     }
 
+    public static Specification<DataPoint> idIn(Collection<Long> ids) {
+        return (root, query, builder) -> root.get(DataPoint_.id).in(ids);
+    }
+
+    public static Specification<DataPoint> idGreaterThan(Long id) {
+        return (root, query, builder) -> builder.greaterThan(root.get(DataPoint_.id), id);
+    }
+
     public static Specification<DataPoint> externalId(String id) {
         return (root, query, builder) -> builder.equal(root.get(DataPoint_.externalId), id);
     }
+
+    public static Specification<DataPoint> externalIdIn(Collection<String> ids) {
+        return (root, query, builder) -> root.get(DataPoint_.externalId).in(ids);
+    }
+
+    public static Specification<DataPoint> externalIdStartsWith(String prefix) {
+        return (root, query, builder) -> builder.like(root.get(DataPoint_.externalId), toLikePrefix(prefix), ESCAPE);
+    }
+
+    public static Specification<DataPoint> valueStartsWith(String prefix) {
+        return (root, query, builder) -> builder.like(root.get(DataPoint_.value), toLikePrefix(prefix), ESCAPE);
+    }
+
+    /**
+     * Either bound may be null for an open range.
+     */
+    public static Specification<DataPoint> significanceBetween(Integer from, Integer to) {
+        return (root, query, builder) -> {
+            if (from != null && to != null) {
+                return builder.between(root.get(DataPoint_.significance), from, to);
+            }
+
+            if (from != null) {
+                return builder.greaterThanOrEqualTo(root.get(DataPoint_.significance), from);
+            }
+
+            return to != null ? builder.lessThanOrEqualTo(root.get(DataPoint_.significance), to) : null;
+        };
+    }
+
+    /**
+     * Wildcards in the prefix are escaped so they match literally, the pattern stays a plain prefix that a pattern
+     * index can serve.
+     */
+    static String toLikePrefix(String prefix) {
+        return prefix
+                .replace(String.valueOf(ESCAPE), String.valueOf(ESCAPE) + ESCAPE)
+                .replace("%", ESCAPE + "%")
+                .replace("_", ESCAPE + "_") + "%";
+    }
 }
@@ -0,0 +1,22 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Read-only projection of a data point, built by the query straight from the result set. Unlike {@link DataPoint} it is
+ * never attached to a persistence context, so reading it costs neither a managed entity nor a dirty checking snapshot.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataPointView {
+
+    private final Long id;
+    private final String externalId;
+    private final String value;
+    private final String comment;
+    private final Integer significance;
+    private final Long version;
+}
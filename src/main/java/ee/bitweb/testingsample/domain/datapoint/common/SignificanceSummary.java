@@ -0,0 +1,14 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class SignificanceSummary {
+
+    private final int significance;
+    private final long count;
+}
@@ -0,0 +1,19 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ValueSummary {
+
+    private final String value;
+    private final long count;
+
+    /**
+     * Sum of significance over data points with this value.
+     */
+    private final long weightedTotal;
+}
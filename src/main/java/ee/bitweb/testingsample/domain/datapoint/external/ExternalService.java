@@ -1,23 +1,91 @@
 package ee.bitweb.testingsample.domain.datapoint.external;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import ee.bitweb.testingsample.common.retrofit.RetrofitRequestExecutor;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ExternalService {
 
     private final ExternalServiceApi api;
+    private final ExternalServiceProperties properties;
+    private final AsyncTaskExecutor prefetchExecutor;
+
+    public ExternalService(
+            ExternalServiceApi api,
+            ExternalServiceProperties properties,
+            @Qualifier(ExternalServiceConfig.PREFETCH_EXECUTOR) AsyncTaskExecutor prefetchExecutor
+    ) {
+        this.api = api;
+        this.properties = properties;
+        this.prefetchExecutor = prefetchExecutor;
+    }
 
     public List<ExternalServiceApi.DataPointResponse> getAll() {
         log.info("Requesting all data points from external service");
 
         return RetrofitRequestExecutor.executeRaw(api.getAll());
     }
+
+    /**
+     * Data points are deserialized one by one as the stream is consumed. The stream holds the connection to the
+     * external service open and must be closed after use.
+     */
+    public Stream<ExternalServiceApi.DataPointResponse> streamAll() {
+        log.info("Streaming all data points from external service");
+
+        return RetrofitRequestExecutor.executeStream(api.streamAll(), ExternalServiceApi.DataPointResponse.class);
+    }
+
+    /**
+     * Streams all data points using the configured {@link ExternalServiceProperties.FetchMode}. The stream must be
+     * closed after use.
+     */
+    public Stream<ExternalServiceApi.DataPointResponse> stream() {
+        if (properties.getFetchMode() == ExternalServiceProperties.FetchMode.PAGED) {
+            return streamPages();
+        }
+
+        return streamAll();
+    }
+
+    /**
+     * Data points are requested page by page, while the returned stream is consumed the following pages are already
+     * being fetched in the background. Closing the stream stops fetching. Fails with a TaskRejectedException when every
+     * prefetch thread is busy and the prefetch queue is full.
+     */
+    public Stream<ExternalServiceApi.DataPointResponse> streamPages() {
+        log.info(
+                "Streaming data points from external service in pages of {} with at most {} pages in flight",
+                properties.getPageSize(),
+                properties.getMaxPagesInFlight()
+        );
+
+        PrefetchingPageIterator pages = new PrefetchingPageIterator(
+                this::getPage,
+                properties.getMaxPagesInFlight(),
+                prefetchExecutor
+        );
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(pages::close);
+    }
+
+    public ExternalServiceApi.DataPointPageResponse getPage(String after) {
+        log.debug("Requesting page of data points after cursor {}", after);
+
+        return RetrofitRequestExecutor.executeRaw(api.getPage(after, properties.getPageSize()));
+    }
 }
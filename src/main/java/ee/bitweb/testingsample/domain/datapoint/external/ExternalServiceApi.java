@@ -5,14 +5,30 @@ import java.util.List;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface ExternalServiceApi {
 
     @GET("/data-points")
     Call<List<DataPointResponse>> getAll();
 
+    /**
+     * Same resource as {@link #getAll()}, but the body is left unread so it can be consumed incrementally.
+     */
+    @Streaming
+    @GET("/data-points")
+    Call<ResponseBody> streamAll();
+
+    /**
+     * @param after cursor returned with the previous page, null for the first page
+     */
+    @GET("/data-points/page")
+    Call<DataPointPageResponse> getPage(@Query("after") String after, @Query("limit") int limit);
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -23,4 +39,16 @@ public interface ExternalServiceApi {
         private String comment;
         private Integer significance;
     }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    class DataPointPageResponse {
+
+        private List<DataPointResponse> items;
+        /**
+         * Cursor of the next page, null when this is the last page.
+         */
+        private String nextCursor;
+    }
 }
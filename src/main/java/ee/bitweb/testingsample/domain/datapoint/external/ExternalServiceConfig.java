@@ -5,15 +5,31 @@ import ee.bitweb.testingsample.common.retrofit.RetrofitBuilder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @RequiredArgsConstructor
 public class ExternalServiceConfig {
 
+    public static final String PREFETCH_EXECUTOR = "externalServicePrefetchExecutor";
+
     private final ExternalServiceProperties properties;
 
     @Bean
     public ExternalServiceApi externalServiceApi() {
         return RetrofitBuilder.createApiService(properties.getBaseUrl(), ExternalServiceApi.class);
     }
+
+    @Bean(PREFETCH_EXECUTOR)
+    public ThreadPoolTaskExecutor externalServicePrefetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(properties.getPrefetchThreads());
+        executor.setMaxPoolSize(properties.getPrefetchThreads());
+        executor.setQueueCapacity(properties.getPrefetchQueueCapacity());
+        executor.setThreadNamePrefix("external-prefetch-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+
+        return executor;
+    }
 }
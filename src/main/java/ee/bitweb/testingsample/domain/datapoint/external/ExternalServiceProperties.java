@@ -1,6 +1,8 @@
 package ee.bitweb.testingsample.domain.datapoint.external;
 
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -17,4 +19,43 @@ public class ExternalServiceProperties {
 
     @NotBlank
     private String baseUrl;
+
+    @NotNull
+    private FetchMode fetchMode = FetchMode.STREAM;
+
+    /**
+     * Number of data points requested per page in {@link FetchMode#PAGED} mode.
+     */
+    @Positive
+    private int pageSize = 1000;
+
+    /**
+     * Number of fetched pages allowed to wait for the consumer in {@link FetchMode#PAGED} mode.
+     */
+    @Positive
+    private int maxPagesInFlight = 2;
+
+    /**
+     * Number of threads shared by all paged fetches for prefetching the next pages.
+     */
+    @Positive
+    private int prefetchThreads = 2;
+
+    /**
+     * Number of paged fetches allowed to wait for a free prefetch thread. Further fetches are rejected instead of
+     * queuing up without bound.
+     */
+    @Positive
+    private int prefetchQueueCapacity = 4;
+
+    public enum FetchMode {
+        /**
+         * Whole data set is requested at once and deserialized while the response body is read.
+         */
+        STREAM,
+        /**
+         * Data set is requested page by page, next pages are fetched while the current one is processed.
+         */
+        PAGED
+    }
 }
@@ -0,0 +1,148 @@
+package ee.bitweb.testingsample.domain.datapoint.external;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import ee.bitweb.testingsample.common.exception.CoreException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Iterates over the data points of a paged resource while a background task is already fetching the following pages.
+ * At most {@code maxPagesInFlight} fetched pages wait for the consumer, after that the background task blocks until
+ * the consumer catches up. Anything the background task throws is rethrown to the consumer. Iterator must be closed
+ * when it is not consumed to the end.
+ */
+@Slf4j
+class PrefetchingPageIterator implements Iterator<ExternalServiceApi.DataPointResponse>, AutoCloseable {
+
+    private static final Fetched END = new Fetched(Collections.emptyList(), null);
+
+    private final BlockingQueue<Fetched> pages;
+    private final Function<String, ExternalServiceApi.DataPointPageResponse> fetcher;
+    private final Future<?> producer;
+
+    private Iterator<ExternalServiceApi.DataPointResponse> current = Collections.emptyIterator();
+    private boolean finished;
+    private volatile boolean closed;
+
+    PrefetchingPageIterator(
+            Function<String, ExternalServiceApi.DataPointPageResponse> fetcher,
+            int maxPagesInFlight,
+            AsyncTaskExecutor executor
+    ) {
+        this.fetcher = fetcher;
+        this.pages = new ArrayBlockingQueue<>(maxPagesInFlight);
+        this.producer = executor.submit(this::produce);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !finished) {
+            Fetched page = take();
+
+            if (page.getError() != null) {
+                finished = true;
+                throw rethrow(page.getError());
+            }
+
+            if (page == END) {
+                finished = true;
+            } else {
+                current = page.getItems().iterator();
+            }
+        }
+
+        return current.hasNext();
+    }
+
+    @Override
+    public ExternalServiceApi.DataPointResponse next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        producer.cancel(true);
+    }
+
+    private void produce() {
+        String cursor = null;
+        int fetched = 0;
+
+        try {
+            do {
+                ExternalServiceApi.DataPointPageResponse page = fetcher.apply(cursor);
+                List<ExternalServiceApi.DataPointResponse> items = page.getItems() != null
+                        ? page.getItems()
+                        : Collections.emptyList();
+
+                log.debug("Prefetched page {} with {} data points", fetched++, items.size());
+                pages.put(new Fetched(items, null));
+                cursor = page.getNextCursor();
+            } while (cursor != null && !closed);
+
+            pages.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // errors as well, the consumer would otherwise wait for the next page forever
+            if (!closed) {
+                handOver(e);
+            }
+        }
+    }
+
+    private void handOver(Throwable e) {
+        try {
+            pages.put(new Fetched(null, e));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Fetched take() {
+        try {
+            return pages.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+
+            throw new CoreException("Interrupted while waiting for the next page of data points", e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+
+        if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        }
+
+        return new CoreException("Fetching the next page of data points failed", error);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Fetched {
+
+        private final List<ExternalServiceApi.DataPointResponse> items;
+        private final Throwable error;
+    }
+}
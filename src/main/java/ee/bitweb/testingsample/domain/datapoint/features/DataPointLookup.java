@@ -0,0 +1,22 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.Map;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Data points found for the requested identifiers, in request order. Requested identifiers without a data point map
+ * to null.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataPointLookup {
+
+    private final Map<Long, DataPoint> byId;
+    private final Map<String, DataPoint> byExternalId;
+}
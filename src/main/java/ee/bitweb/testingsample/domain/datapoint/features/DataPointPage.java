@@ -0,0 +1,26 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataPointPage {
+
+    private final List<DataPointView> items;
+
+    /**
+     * Id of the last data point on this page, to be passed as "after" for the next page. Null on the last page.
+     */
+    private final Long nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,22 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSearchHit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataPointSearchPage {
+
+    private final List<DataPointSearchHit> hits;
+
+    /**
+     * Opaque cursor of the next page, null on the last page.
+     */
+    private final String nextCursor;
+}
@@ -0,0 +1,43 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Counts of data points weighted by their significance. The weighted total is the sum of significance over the counted
+ * data points, the weighted share of a value is its weighted total divided by the weighted total of all data points.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataPointStatistics {
+
+    private final long totalCount;
+    private final long weightedTotal;
+    private final List<Level> significanceLevels;
+    private final List<Value> values;
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Level {
+
+        private final int significance;
+        private final long count;
+        private final long weightedTotal;
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Value {
+
+        private final String value;
+        private final long count;
+        private final long weightedTotal;
+        private final double weightedShare;
+    }
+}
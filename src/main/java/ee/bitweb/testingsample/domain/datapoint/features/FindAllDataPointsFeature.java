@@ -3,7 +3,10 @@ package ee.bitweb.testingsample.domain.datapoint.features;
 import java.util.List;
 
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointFilter;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,4 +22,49 @@ public class FindAllDataPointsFeature {
     public List<DataPoint> find() {
         return repository.findAll();
     }
+
+    /**
+     * Seeks to the first data point after the given id and reads the page from there by primary key, so every page
+     * costs the same regardless of how deep it is. One extra row is read to tell whether a next page exists. Data
+     * points are read as projections, no entities are loaded.
+     *
+     * @param after id of the last data point of the previous page, null for the first page
+     */
+    public DataPointPage find(Long after, int limit) {
+        return find(DataPointFilter.NONE, after, limit);
+    }
+
+    /**
+     * Same as {@link #find(Long, int)}, limited to the data points matching the filter.
+     */
+    public DataPointPage find(DataPointFilter filter, Long after, int limit) {
+        List<DataPointView> points = repository.findViewsOrderedById(
+                filter.toSpecification().and(DataPointSpecification.idGreaterThan(after == null ? 0L : after)),
+                limit + 1
+        );
+
+        if (points.size() <= limit) {
+            return new DataPointPage(points, null);
+        }
+
+        List<DataPointView> items = points.subList(0, limit);
+
+        return new DataPointPage(items, items.get(limit - 1).getId());
+    }
+
+    /**
+     * @return counter that grows with every committed change of any data point. Read it before the page it is meant to
+     * describe: a change committed in between then makes the counter older than the page, never the other way round.
+     */
+    public long changeCount() {
+        return repository.findChangeCount();
+    }
+
+    /**
+     * @return estimated number of all data points, taken from table statistics instead of counting rows, filters are
+     * not taken into account
+     */
+    public long estimateCount() {
+        return repository.estimateCount();
+    }
 }
@@ -0,0 +1,42 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FindDataPointsByExternalIdsFeature {
+
+    private final DataPointRepository repository;
+
+    /**
+     * Loads all existing data points for the given external ids with a single query. External ids without a data point
+     * are simply absent from the returned map. The import decides between create and update on this result, so it
+     * always comes from the database and never from the external id filter.
+     */
+    public Map<String, DataPoint> find(Collection<String> externalIds) {
+        Map<String, DataPoint> result = new HashMap<>();
+
+        if (externalIds.isEmpty()) {
+            return result;
+        }
+
+        for (DataPoint point : repository.findAll(DataPointSpecification.externalIdIn(externalIds))) {
+            result.put(point.getExternalId(), point);
+        }
+
+        log.debug("Found {} existing data points for {} external ids", result.size(), externalIds.size());
+
+        return result;
+    }
+}
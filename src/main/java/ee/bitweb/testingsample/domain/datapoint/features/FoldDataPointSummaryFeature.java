@@ -0,0 +1,38 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically folds the deltas the summary triggers append into the summary tables, so statistics reads only have
+ * to add the few deltas written since the last fold.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FoldDataPointSummaryFeature {
+
+    private final DataPointRepository repository;
+
+    @Scheduled(
+            initialDelayString = "${data-points.statistics.fold-interval:PT10S}",
+            fixedDelayString = "${data-points.statistics.fold-interval:PT10S}"
+    )
+    public void onFoldInterval() {
+        fold();
+    }
+
+    public long fold() {
+        long folded = repository.foldSummary();
+
+        if (folded > 0) {
+            log.debug("Folded {} summary deltas", folded);
+        }
+
+        return folded;
+    }
+}
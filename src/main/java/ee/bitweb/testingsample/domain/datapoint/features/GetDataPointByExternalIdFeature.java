@@ -1,13 +1,13 @@
 package ee.bitweb.testingsample.domain.datapoint.features;
 
-import java.util.Set;
-
-import ee.bitweb.testingsample.common.exception.persistence.Criteria;
 import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint_;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,20 +19,48 @@ import org.springframework.stereotype.Service;
 public class GetDataPointByExternalIdFeature {
 
     private final DataPointRepository repository;
+    private final DataPointCache cache;
+    private final ExternalIdFilter externalIdFilter;
+
+    /**
+     * Reads the data point as a projection, from the cache when present.
+     */
+    public DataPointView get(String externalId) {
+        if (!externalIdFilter.mightExist(externalId)) {
+            throw createException(externalId);
+        }
+
+        return cache
+                .getByExternalId(externalId, () -> repository.findView(DataPointSpecification.externalId(externalId)))
+                .orElseThrow(() -> {
+                    externalIdFilter.reportFalsePositive();
+
+                    return createException(externalId);
+                });
+    }
+
+    /**
+     * Reads only the version of the data point, which is enough to tell whether a client's copy is still current.
+     */
+    public Long getVersion(String externalId) {
+        if (!externalIdFilter.mightExist(externalId)) {
+            throw createException(externalId);
+        }
+
+        return repository
+                .findVersion(DataPointSpecification.externalId(externalId))
+                .orElseThrow(() -> {
+                    externalIdFilter.reportFalsePositive();
 
-    public DataPoint get(String externalId) {
-        return repository.findOne(DataPointSpecification.externalId(externalId)).orElseThrow(() -> createException(externalId));
+                    return createException(externalId);
+                });
     }
 
     private EntityNotFoundException createException(String id) {
         return new EntityNotFoundException(
                 DataPoint.class.getSimpleName(),
-                Set.of(
-                        new Criteria(
-                                DataPoint_.EXTERNAL_ID,
-                                String.valueOf(id)
-                        )
-                )
+                DataPoint_.EXTERNAL_ID,
+                String.valueOf(id)
         );
     }
 }
@@ -1,13 +1,12 @@
 package ee.bitweb.testingsample.domain.datapoint.features;
 
-import java.util.Set;
-
-import ee.bitweb.testingsample.common.exception.persistence.Criteria;
 import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint_;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,22 +18,45 @@ import org.springframework.stereotype.Service;
 public class GetDataPointByIdFeature {
 
     private final DataPointRepository repository;
+    private final DataPointCache cache;
 
+    /**
+     * Loads the data point as an entity, for changing it. Reads that only return the data point should use
+     * {@link #getView(Long)}.
+     */
     public DataPoint get(Long id) {
         log.info("Request user by id: {}", id);
 
-        return repository.findOne(DataPointSpecification.id(id)).orElseThrow(() -> createException(id));
+        return repository
+                .findOne(DataPointSpecification.id(id))
+                .orElseThrow(() -> createException(id));
+    }
+
+    /**
+     * Reads the data point as a projection, from the cache when present.
+     */
+    public DataPointView getView(Long id) {
+        log.info("Request user by id: {}", id);
+
+        return cache
+                .getById(id, () -> repository.findView(DataPointSpecification.id(id)))
+                .orElseThrow(() -> createException(id));
+    }
+
+    /**
+     * Reads only the version of the data point, which is enough to tell whether a client's copy is still current.
+     */
+    public Long getVersion(Long id) {
+        return repository
+                .findVersion(DataPointSpecification.id(id))
+                .orElseThrow(() -> createException(id));
     }
 
     private EntityNotFoundException createException(Long id) {
         return new EntityNotFoundException(
                 DataPoint.class.getSimpleName(),
-                Set.of(
-                        new Criteria(
-                                DataPoint_.ID,
-                                String.valueOf(id)
-                        )
-                )
+                DataPoint_.ID,
+                String.valueOf(id)
         );
     }
 }
@@ -0,0 +1,67 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.SignificanceSummary;
+import ee.bitweb.testingsample.domain.datapoint.common.ValueSummary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetDataPointStatisticsFeature {
+
+    private final DataPointRepository repository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Builds the statistics from the summary tables, the cost depends on the number of significance levels and the
+     * requested number of values, not on the number of data points. Both summaries are read from the same snapshot, so
+     * the values always add up with the totals.
+     *
+     * @param valueLimit number of values with the largest weighted total to include
+     */
+    public DataPointStatistics get(int valueLimit) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        return transaction.execute(status -> create(
+                repository.findSignificanceSummary(),
+                valueLimit > 0 ? repository.findValueSummary(valueLimit) : List.of()
+        ));
+    }
+
+    private static DataPointStatistics create(List<SignificanceSummary> levels, List<ValueSummary> values) {
+        long totalCount = levels.stream().mapToLong(SignificanceSummary::getCount).sum();
+        long weightedTotal = levels.stream().mapToLong(level -> level.getSignificance() * level.getCount()).sum();
+
+        return new DataPointStatistics(
+                totalCount,
+                weightedTotal,
+                levels.stream()
+                        .map(level -> new DataPointStatistics.Level(
+                                level.getSignificance(),
+                                level.getCount(),
+                                level.getSignificance() * level.getCount()
+                        ))
+                        .collect(Collectors.toList()),
+                values.stream()
+                        .map(value -> new DataPointStatistics.Value(
+                                value.getValue(),
+                                value.getCount(),
+                                value.getWeightedTotal(),
+                                weightedTotal == 0 ? 0 : (double) value.getWeightedTotal() / weightedTotal
+                        ))
+                        .collect(Collectors.toList())
+        );
+    }
+}
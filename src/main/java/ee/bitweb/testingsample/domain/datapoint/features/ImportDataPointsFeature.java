@@ -1,20 +1,33 @@
 package ee.bitweb.testingsample.domain.datapoint.features;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.external.ExternalService;
 import ee.bitweb.testingsample.domain.datapoint.external.ExternalServiceApi;
-import ee.bitweb.testingsample.domain.datapoint.features.create.CreateDataPointFeature;
-import ee.bitweb.testingsample.domain.datapoint.features.create.CreateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.copy.CopyDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
 import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointFeature;
 import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.PartitionedUpsertDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertListener;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
@@ -22,43 +35,186 @@ import org.springframework.stereotype.Service;
 public class ImportDataPointsFeature {
 
     private final UpdateDataPointFeature updateFeature;
-    private final CreateDataPointFeature createFeature;
-    private final GetDataPointByExternalIdFeature getDataPointByExternalIdFeature;
+    private final FindDataPointsByExternalIdsFeature findDataPointsByExternalIdsFeature;
     private final ExternalService externalService;
+    private final PartitionedUpsertDataPointsFeature upsertFeature;
+    private final CopyDataPointsFeature copyFeature;
+    private final PersistDataPointFeature persistFeature;
+    private final DataPointCache cache;
+    private final ExternalIdFilter externalIdFilter;
+    private final ImportProperties properties;
+    private final PlatformTransactionManager transactionManager;
 
+    /**
+     * Imports the streamed feed chunk by chunk like {@link #execute(ImportRowListener)}, but stops at the first chunk
+     * that cannot be persisted. Only the imported data points are collected for the result, the feed itself is never
+     * held in memory as a whole.
+     */
     public List<DataPoint> execute() {
+        return executeAndCollect(row -> {});
+    }
+
+    /**
+     * Same as {@link #execute()}, also handing every row over to the listener.
+     */
+    public List<DataPoint> executeAndCollect(ImportRowListener listener) {
         log.info("Starting to import data points from external service");
 
-        List<ExternalServiceApi.DataPointResponse> response = externalService.getAll();
+        List<DataPoint> result = new ArrayList<>();
 
-        log.info("Got a result of size: {}", response.size());
+        try (Stream<ExternalServiceApi.DataPointResponse> response = externalService.stream()) {
+            importChunks(response.iterator(), new ImportRowListener() {
+                @Override
+                public void onRow(ImportedRow row) {
+                    result.add(row.getPoint());
+                    listener.onRow(row);
+                }
 
-        List<DataPoint> result = new ArrayList<>();
+                @Override
+                public void onChunkCompleted() {
+                    listener.onChunkCompleted();
+                }
+            }, true);
+        }
+
+        return result;
+    }
+
+    /**
+     * Imports the streamed feed chunk by chunk and hands every row over to the listener instead of collecting the
+     * result. A chunk that cannot be persisted is rolled back and its rows are reported as failed, the import then
+     * continues with the next chunk.
+     */
+    public ImportSummary execute(ImportRowListener listener) {
+        log.info("Starting to import data points from external service");
+
+        try (Stream<ExternalServiceApi.DataPointResponse> response = externalService.stream()) {
+            return importChunks(response.iterator(), listener, false);
+        }
+    }
 
-        for (ExternalServiceApi.DataPointResponse element : response) {
-            DataPoint dataPoint;
+    private ImportSummary importChunks(
+            Iterator<ExternalServiceApi.DataPointResponse> response,
+            ImportRowListener listener,
+            boolean stopOnFailure
+    ) {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Map<ImportRowStatus, Integer> counts = new EnumMap<>(ImportRowStatus.class);
+
+        while (response.hasNext()) {
+            List<ExternalServiceApi.DataPointResponse> chunk = nextChunk(response);
+
+            List<ImportedRow> rows;
             try {
-                dataPoint = updateFeature.update(
-                        getDataPointByExternalIdFeature.get(element.getExternalId()),
-                        toUpdateModel(element)
-                );
-            } catch (EntityNotFoundException e) {
-                log.info("data point with external id {} not found, creating new", element.getExternalId());
-                dataPoint = createFeature.create(toCreateModel(element));
+                rows = transaction.execute(status -> importChunk(chunk));
+            } catch (ConflictException e) {
+                if (stopOnFailure) {
+                    throw e;
+                }
+
+                log.error("Importing chunk starting with external id {} failed", chunk.get(0).getExternalId(), e);
+                rows = chunk.stream()
+                        .map(element -> new ImportedRow(element.getExternalId(), null, ImportRowStatus.FAILED))
+                        .collect(Collectors.toList());
+            }
+
+            for (ImportedRow row : rows) {
+                counts.merge(row.getStatus(), 1, Integer::sum);
+                listener.onRow(row);
             }
-            result.add(dataPoint);
+            listener.onChunkCompleted();
         }
 
-        return result;
+        ImportSummary summary = new ImportSummary(
+                counts.getOrDefault(ImportRowStatus.CREATED, 0),
+                counts.getOrDefault(ImportRowStatus.UPDATED, 0),
+                counts.getOrDefault(ImportRowStatus.UNCHANGED, 0),
+                counts.getOrDefault(ImportRowStatus.FAILED, 0),
+                (System.nanoTime() - start) / 1_000_000
+        );
+        log.info("Imported data points {}", summary);
+
+        return summary;
     }
 
-    private CreateDataPointModel toCreateModel(ExternalServiceApi.DataPointResponse model) {
-        return new CreateDataPointModel(
-                model.getExternalId(),
-                model.getValue(),
-                model.getComment(),
-                model.getSignificance()
+    private List<ExternalServiceApi.DataPointResponse> nextChunk(Iterator<ExternalServiceApi.DataPointResponse> response) {
+        List<ExternalServiceApi.DataPointResponse> chunk = new ArrayList<>(properties.getChunkSize());
+
+        while (response.hasNext() && chunk.size() < properties.getChunkSize()) {
+            chunk.add(response.next());
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Existing data points of the whole chunk are resolved with one query, so deciding between create and update does
+     * not cost a query per element. Changed and new data points are persisted together within the chunk transaction,
+     * which lets the inserts and updates go out as JDBC batches.
+     */
+    private List<ImportedRow> importChunk(List<ExternalServiceApi.DataPointResponse> chunk) {
+        Map<String, DataPoint> existing = findDataPointsByExternalIdsFeature.find(
+                chunk.stream().map(ExternalServiceApi.DataPointResponse::getExternalId).collect(Collectors.toSet())
         );
+        Set<DataPoint> changed = new LinkedHashSet<>();
+        List<ImportedRow> rows = new ArrayList<>(chunk.size());
+
+        for (ExternalServiceApi.DataPointResponse element : chunk) {
+            DataPoint dataPoint = existing.get(element.getExternalId());
+            boolean isNew = dataPoint == null;
+
+            if (isNew) {
+                log.info("data point with external id {} not found, creating new", element.getExternalId());
+                dataPoint = new DataPoint();
+                existing.put(element.getExternalId(), dataPoint);
+            }
+
+            boolean applied = updateFeature.apply(dataPoint, toUpdateModel(element));
+            if (applied) {
+                changed.add(dataPoint);
+            }
+
+            rows.add(new ImportedRow(
+                    element.getExternalId(),
+                    dataPoint,
+                    isNew ? ImportRowStatus.CREATED : applied ? ImportRowStatus.UPDATED : ImportRowStatus.UNCHANGED
+            ));
+        }
+
+        persistFeature.saveAll(changed);
+
+        return rows;
+    }
+
+    public UpsertResult executeBulk() {
+        return executeBulk(null, UpsertListener.NONE);
+    }
+
+    /**
+     * Bulk writes bypass the persistence context, so the whole data point cache is dropped once the run is over. External
+     * ids are added to the external id filter before they are written.
+     *
+     * @param strategy how the data points are written, the configured default strategy is used when null
+     */
+    public UpsertResult executeBulk(ImportProperties.Strategy strategy, UpsertListener listener) {
+        ImportProperties.Strategy resolved = strategy != null ? strategy : properties.getStrategy();
+        log.info("Starting to bulk import data points from external service with strategy {}", resolved);
+
+        try (Stream<ExternalServiceApi.DataPointResponse> response = externalService.stream()) {
+            Iterator<UpdateDataPointModel> models = response
+                    .map(this::toUpdateModel)
+                    .peek(model -> externalIdFilter.add(model.getExternalId()))
+                    .iterator();
+
+            if (resolved == ImportProperties.Strategy.COPY) {
+                return copyFeature.load(models, listener);
+            }
+
+            return upsertFeature.upsert(models, listener);
+        } finally {
+            cache.evictAll();
+        }
     }
 
     private UpdateDataPointModel toUpdateModel(ExternalServiceApi.DataPointResponse model) {
@@ -0,0 +1,72 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Setter
+@Getter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "data-points.import")
+public class ImportProperties {
+
+    /**
+     * Number of data points written with a single upsert statement.
+     */
+    @Positive
+    @Max(10000)
+    private int chunkSize = 1000;
+
+    /**
+     * Number of workers writing the import in parallel, data points are partitioned between them by external id. Every
+     * worker holds a database connection while writing, so this should stay below the connection pool size.
+     */
+    @Positive
+    @Max(32)
+    private int workers = 1;
+
+    /**
+     * Strategy used for bulk imports when the run does not ask for one.
+     */
+    @NotNull
+    private Strategy strategy = Strategy.UPSERT;
+
+    @NotNull
+    private CommitPolicy commitPolicy = CommitPolicy.CHUNK;
+
+    /**
+     * Number of most recent background import jobs kept available for status queries.
+     */
+    @Positive
+    private int retainedJobs = 20;
+
+    public enum Strategy {
+        /**
+         * Data points are written in chunks with multi-row upsert statements, see commit policy and workers.
+         */
+        UPSERT,
+        /**
+         * Data points are streamed into an unlogged staging table with COPY and merged with one statement. The whole
+         * run is a single transaction, intended for full reloads of large data sets.
+         */
+        COPY
+    }
+
+    public enum CommitPolicy {
+        /**
+         * Every chunk is committed separately, a failing chunk leaves previously written chunks in place.
+         */
+        CHUNK,
+        /**
+         * Whole import is committed at once, a failing chunk rolls back the entire run.
+         */
+        RUN
+    }
+}
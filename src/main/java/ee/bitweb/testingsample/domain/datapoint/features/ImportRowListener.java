@@ -0,0 +1,14 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+/**
+ * Receives the outcome of every imported row once the chunk containing it has been committed or rolled back.
+ */
+public interface ImportRowListener {
+
+    void onRow(ImportedRow row);
+
+    /**
+     * Called after all rows of a chunk have been passed to {@link #onRow(ImportedRow)}.
+     */
+    default void onChunkCompleted() {}
+}
@@ -0,0 +1,11 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+public enum ImportRowStatus {
+    CREATED,
+    UPDATED,
+    UNCHANGED,
+    /**
+     * The chunk containing the row could not be persisted and was rolled back.
+     */
+    FAILED
+}
@@ -0,0 +1,17 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ImportSummary {
+
+    private final int created;
+    private final int updated;
+    private final int unchanged;
+    private final int failed;
+    private final long durationMillis;
+}
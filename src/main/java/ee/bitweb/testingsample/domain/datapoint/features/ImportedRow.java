@@ -0,0 +1,20 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ImportedRow {
+
+    private final String externalId;
+    /**
+     * Persisted state of the data point, null when the row failed.
+     */
+    private final DataPoint point;
+    private final ImportRowStatus status;
+}
@@ -0,0 +1,26 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Setter
+@Getter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "data-points.list")
+public class ListProperties {
+
+    /**
+     * Number of rows fetched from the database per round trip when streaming the full list or scanning all external
+     * ids, also the number of rows written between flushes of a streamed list response.
+     */
+    @Positive
+    @Max(10000)
+    private int fetchSize = 500;
+}
@@ -0,0 +1,81 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LookupDataPointsFeature {
+
+    private final DataPointRepository repository;
+    private final ExternalIdFilter externalIdFilter;
+
+    /**
+     * Loads the data points for all given ids and external ids with a single query. External ids the filter knows not
+     * to exist are left out of the query, when nothing is left to look up no query is made.
+     */
+    public DataPointLookup lookup(Collection<Long> ids, Collection<String> externalIds) {
+        List<String> candidates = externalIds
+                .stream()
+                .distinct()
+                .filter(externalIdFilter::mightExist)
+                .collect(Collectors.toList());
+
+        Map<Long, DataPoint> foundById = new HashMap<>();
+        Map<String, DataPoint> foundByExternalId = new HashMap<>();
+
+        Specification<DataPoint> specification = createSpecification(ids, candidates);
+        if (specification != null) {
+            for (DataPoint point : repository.findAll(specification)) {
+                foundById.put(point.getId(), point);
+                foundByExternalId.put(point.getExternalId(), point);
+            }
+        }
+
+        log.debug(
+                "Looked up {} ids and {} external ids, found {} data points",
+                ids.size(),
+                externalIds.size(),
+                foundById.size()
+        );
+
+        Map<Long, DataPoint> byId = new LinkedHashMap<>();
+        ids.forEach(id -> byId.put(id, foundById.get(id)));
+
+        Map<String, DataPoint> byExternalId = new LinkedHashMap<>();
+        externalIds.forEach(externalId -> byExternalId.put(externalId, foundByExternalId.get(externalId)));
+
+        return new DataPointLookup(byId, byExternalId);
+    }
+
+    private static Specification<DataPoint> createSpecification(Collection<Long> ids, Collection<String> externalIds) {
+        if (ids.isEmpty() && externalIds.isEmpty()) {
+            return null;
+        }
+
+        if (externalIds.isEmpty()) {
+            return DataPointSpecification.idIn(ids);
+        }
+
+        if (ids.isEmpty()) {
+            return DataPointSpecification.externalIdIn(externalIds);
+        }
+
+        return DataPointSpecification.idIn(ids).or(DataPointSpecification.externalIdIn(externalIds));
+    }
+}
@@ -1,13 +1,19 @@
 package ee.bitweb.testingsample.domain.datapoint.features;
 
+import java.util.Collection;
+import java.util.List;
+
 import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint_;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -16,20 +22,81 @@ import org.springframework.stereotype.Service;
 public class PersistDataPointFeature {
 
     private final DataPointRepository repository;
+    private final DataPointCache cache;
+    private final ExternalIdFilter externalIdFilter;
 
+    /**
+     * Flushes right away, as with sequence ids the insert would otherwise be deferred and a duplicate external id would
+     * only be noticed when the surrounding transaction commits. The saved data point is evicted from the cache
+     * and its external id is added to the external id filter. A data point changed by someone else since it was loaded
+     * is not overwritten.
+     */
     public DataPoint save(DataPoint point) {
         log.info("Persisting DataPoint: {}", point);
         try {
-            return repository.save(point);
+            DataPoint saved = repository.saveAndFlush(point);
+            cache.evict(saved);
+            externalIdFilter.add(saved.getExternalId());
+
+            return saved;
         } catch (DataIntegrityViolationException e) {
             log.error("Error persisting {} as external id is not unique", point);
 
-            throw new ConflictException(
-                    "Cannot persist data point as external id already exists",
-                    DataPoint.class.getSimpleName(),
-                    DataPoint_.EXTERNAL_ID,
-                    point.getExternalId()
+            throw createConflictException(point);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.error("Error persisting {} as it has been changed concurrently", point);
+
+            throw createConcurrentChangeException(point);
+        }
+    }
+
+    /**
+     * Persists all data points with a single flush, so inserts and updates are sent to the database as JDBC batches.
+     */
+    public List<DataPoint> saveAll(Collection<DataPoint> points) {
+        if (points.isEmpty()) {
+            return List.of();
+        }
+
+        log.info("Persisting {} DataPoints", points.size());
+        try {
+            List<DataPoint> saved = repository.saveAllAndFlush(points);
+            saved.forEach(cache::evict);
+            saved.forEach(each -> externalIdFilter.add(each.getExternalId()));
+
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            DataPoint first = points.iterator().next();
+            log.error("Error persisting {} data points starting with {} as external id is not unique", points.size(), first);
+
+            throw createConflictException(first);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            DataPoint first = points.iterator().next();
+            log.error(
+                    "Error persisting {} data points starting with {} as one has been changed concurrently",
+                    points.size(),
+                    first
             );
+
+            throw createConcurrentChangeException(first);
         }
     }
+
+    private ConflictException createConcurrentChangeException(DataPoint point) {
+        return new ConflictException(
+                "Cannot persist data point as it has been changed concurrently",
+                DataPoint.class.getSimpleName(),
+                DataPoint_.ID,
+                String.valueOf(point.getId())
+        );
+    }
+
+    private ConflictException createConflictException(DataPoint point) {
+        return new ConflictException(
+                "Cannot persist data point as external id already exists",
+                DataPoint.class.getSimpleName(),
+                DataPoint_.EXTERNAL_ID,
+                point.getExternalId()
+        );
+    }
 }
@@ -0,0 +1,82 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import ee.bitweb.testingsample.common.api.ErrorMessage;
+import ee.bitweb.testingsample.common.exception.validation.FieldError;
+import ee.bitweb.testingsample.common.exception.validation.ValidationException;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSearchHit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchDataPointsFeature {
+
+    public static final String CURSOR_FIELD = "cursor";
+
+    private static final String CURSOR_SEPARATOR = ":";
+
+    private final DataPointRepository repository;
+
+    /**
+     * Searches comments and returns a page of hits ordered by rank. The cursor carries the rank and id of the last hit,
+     * so the next page continues right after it. One extra hit is read to tell whether a next page exists.
+     *
+     * @param cursor cursor of the previous page, null for the first page
+     */
+    public DataPointSearchPage search(String query, String cursor, int limit) {
+        List<DataPointSearchHit> hits = repository.searchComments(query, decodeCursor(cursor), limit + 1);
+
+        if (hits.size() <= limit) {
+            return new DataPointSearchPage(hits, null);
+        }
+
+        List<DataPointSearchHit> page = hits.subList(0, limit);
+
+        return new DataPointSearchPage(page, encodeCursor(page.get(limit - 1)));
+    }
+
+    private static String encodeCursor(DataPointSearchHit hit) {
+        String cursor = Float.floatToIntBits(hit.getRank()) + CURSOR_SEPARATOR + hit.getPoint().getId();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DataPointSearchHit decodeCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR);
+
+            if (parts.length != 2) {
+                throw createInvalidCursorException();
+            }
+
+            DataPoint point = new DataPoint();
+            point.setId(Long.parseLong(parts[1]));
+
+            return new DataPointSearchHit(point, Float.intBitsToFloat(Integer.parseInt(parts[0])));
+        } catch (IllegalArgumentException e) {
+            throw createInvalidCursorException();
+        }
+    }
+
+    private static ValidationException createInvalidCursorException() {
+        return new ValidationException(
+                ErrorMessage.INVALID_ARGUMENT.toString(),
+                Set.of(new FieldError(CURSOR_FIELD, "InvalidCursor", "Cursor is not valid"))
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.time.Duration;
+import javax.validation.constraints.NotNull;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Setter
+@Getter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "data-points.statistics")
+public class StatisticsProperties {
+
+    /**
+     * Delay between folds of the summary deltas into the summary tables. Deltas pending in between are added on every
+     * statistics read, a longer delay makes reads after heavy writes somewhat slower.
+     */
+    @NotNull
+    private Duration foldInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,51 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamAllDataPointsFeature {
+
+    private final DataPointRepository repository;
+    private final ListProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Hands every data point, ordered by id, to the consumer as it is read from the database. Only one fetch of rows
+     * is held in memory at a time, so memory use does not depend on the size of the table. The read transaction stays
+     * open until the consumer has seen the last data point.
+     *
+     * @return number of data points streamed
+     */
+    public long stream(Consumer<DataPoint> consumer) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        AtomicLong count = new AtomicLong();
+
+        transaction.executeWithoutResult(status -> {
+            try (Stream<DataPoint> points = repository.streamAll(properties.getFetchSize())) {
+                points.forEach(point -> {
+                    consumer.accept(point);
+                    count.incrementAndGet();
+                });
+            }
+        });
+
+        log.info("Streamed {} data points", count.get());
+
+        return count.get();
+    }
+}
@@ -0,0 +1,154 @@
+package ee.bitweb.testingsample.domain.datapoint.features.cache;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process cache of single data point lookups. Data points are cached by id, external ids only point to the id, so
+ * a data point whose external id has changed cannot be served under its old external id.
+ * <p>
+ * Cached views are immutable, so callers can share them without copying.
+ * <p>
+ * Writes only evict the data points on the instance that made them, there is no invalidation across instances. Only
+ * enable the cache when a single instance writes data points, otherwise other instances keep serving the old state,
+ * including external ids of deleted data points, until the entries expire.
+ */
+@Slf4j
+@Component
+public class DataPointCache {
+
+    private static final String BY_ID_CACHE_NAME = "data-points.by-id";
+    private static final String BY_EXTERNAL_ID_CACHE_NAME = "data-points.by-external-id";
+
+    private final Cache<Long, DataPointView> byId;
+    private final Cache<String, Long> idByExternalId;
+
+    public DataPointCache(DataPointCacheProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            log.info("Data point cache is disabled");
+            byId = null;
+            idByExternalId = null;
+
+            return;
+        }
+
+        byId = CaffeineCacheMetrics.monitor(meterRegistry, create(properties), BY_ID_CACHE_NAME);
+        idByExternalId = CaffeineCacheMetrics.monitor(meterRegistry, create(properties), BY_EXTERNAL_ID_CACHE_NAME);
+    }
+
+    /**
+     * @param loader reads the data point from the database on a miss, its result is cached when present
+     */
+    public Optional<DataPointView> getById(Long id, Supplier<Optional<DataPointView>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+
+        DataPointView cached = byId.getIfPresent(id);
+
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return load(loader);
+    }
+
+    /**
+     * @param loader reads the data point from the database on a miss, its result is cached when present
+     */
+    public Optional<DataPointView> getByExternalId(String externalId, Supplier<Optional<DataPointView>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+
+        Long id = idByExternalId.getIfPresent(externalId);
+        DataPointView cached = id != null ? byId.getIfPresent(id) : null;
+
+        if (cached != null && externalId.equals(cached.getExternalId())) {
+            return Optional.of(cached);
+        }
+
+        return load(loader);
+    }
+
+    /**
+     * Removes the data point right away and, when called within a transaction, once more after the transaction has
+     * completed, so a lookup running concurrently with the transaction cannot leave the old state behind.
+     */
+    public void evict(DataPoint point) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        doEvict(point.getId(), point.getExternalId());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long id = point.getId();
+            String externalId = point.getExternalId();
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    doEvict(id, externalId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every cached data point, used after bulk writes that do not report which data points they changed.
+     */
+    public void evictAll() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        byId.invalidateAll();
+        idByExternalId.invalidateAll();
+    }
+
+    private boolean isEnabled() {
+        return byId != null;
+    }
+
+    private Optional<DataPointView> load(Supplier<Optional<DataPointView>> loader) {
+        Optional<DataPointView> loaded = loader.get();
+
+        loaded.ifPresent(point -> {
+            byId.put(point.getId(), point);
+            idByExternalId.put(point.getExternalId(), point.getId());
+        });
+
+        return loaded;
+    }
+
+    private void doEvict(Long id, String externalId) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+
+        if (externalId != null) {
+            idByExternalId.invalidate(externalId);
+        }
+    }
+
+    private static <K, V> Cache<K, V> create(DataPointCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+}
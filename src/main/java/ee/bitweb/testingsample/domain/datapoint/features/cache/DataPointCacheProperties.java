@@ -0,0 +1,38 @@
+package ee.bitweb.testingsample.domain.datapoint.features.cache;
+
+import java.time.Duration;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Setter
+@Getter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "data-points.cache")
+public class DataPointCacheProperties {
+
+    /**
+     * When disabled every lookup goes to the database. Off by default, see {@link DataPointCache} for when it is safe
+     * to enable.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of data points held, entries beyond it are evicted by frequency and recency.
+     */
+    @Positive
+    private long maximumSize = 10000;
+
+    /**
+     * Time after which a cached data point is read from the database again. Bounds how long a write that did not go
+     * through PersistDataPointFeature can stay unnoticed.
+     */
+    @NotNull
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
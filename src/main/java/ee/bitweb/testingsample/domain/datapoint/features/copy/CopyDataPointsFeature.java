@@ -0,0 +1,86 @@
+package ee.bitweb.testingsample.domain.datapoint.features.copy;
+
+import java.util.Iterator;
+import java.util.List;
+
+import ee.bitweb.testingsample.domain.datapoint.common.BulkWriteResult;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertChunkResult;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertListener;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads the whole feed with COPY through a staging table and merges it in one statement. The run is a single
+ * transaction, so it is reported to the listener as one chunk once it has been committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CopyDataPointsFeature {
+
+    private final DataPointRepository repository;
+    private final PlatformTransactionManager transactionManager;
+
+    public UpsertResult load(Iterator<UpdateDataPointModel> models, UpsertListener listener) {
+        log.info("Loading data points with COPY through a staging table");
+
+        long start = System.nanoTime();
+        CountingIterator points = new CountingIterator(models);
+
+        BulkWriteResult written = new TransactionTemplate(transactionManager).execute(
+                status -> repository.copyAndMerge(points)
+        );
+
+        UpsertChunkResult result = new UpsertChunkResult(
+                0,
+                points.getCount(),
+                written.getInserted(),
+                written.getUpdated(),
+                points.getCount() - written.getInserted() - written.getUpdated() - written.getDuplicates(),
+                written.getDuplicates(),
+                (System.nanoTime() - start) / 1_000_000
+        );
+        log.info("Loaded {}", result);
+        listener.onChunk(result);
+
+        return new UpsertResult(List.of(result));
+    }
+
+    @RequiredArgsConstructor
+    private static class CountingIterator implements Iterator<DataPoint> {
+
+        private final Iterator<UpdateDataPointModel> models;
+        private int count;
+
+        @Override
+        public boolean hasNext() {
+            return models.hasNext();
+        }
+
+        @Override
+        public DataPoint next() {
+            UpdateDataPointModel model = models.next();
+            DataPoint point = new DataPoint();
+
+            point.setExternalId(model.getExternalId());
+            point.setValue(model.getValue());
+            point.setComment(model.getComment());
+            point.setSignificance(model.getSignificance());
+            count++;
+
+            return point;
+        }
+
+        int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ee.bitweb.testingsample.domain.datapoint.features.create;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import ee.bitweb.testingsample.common.exception.validation.FieldError;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint_;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates many data points from one request. Valid items are collected into batches, every batch is written with one
+ * insert statement in its own transaction, so a committed batch stays in place whatever happens to later ones.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkCreateDataPointsFeature {
+
+    public static final String CONFLICT_REASON = "Conflict";
+    public static final String CONFLICT_MESSAGE = "Data point with this external id already exists";
+    public static final String FAILED_REASON = "NotPersisted";
+    public static final String FAILED_MESSAGE = "Data point could not be persisted";
+
+    private final DataPointRepository repository;
+    private final ExternalIdFilter externalIdFilter;
+    private final BulkCreateProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Items are consumed from the iterator only as the batches are written, so it can read them from the request
+     * while the earlier ones are being persisted.
+     *
+     * @return result of every item, in the order of the items
+     */
+    public List<BulkCreateItemResult> create(Iterator<BulkCreateItem> items) {
+        log.info("Creating data points in batches of {}", properties.getBatchSize());
+
+        List<BulkCreateItemResult> results = new ArrayList<>();
+        List<BulkCreateItem> batch = new ArrayList<>(properties.getBatchSize());
+
+        while (items.hasNext()) {
+            BulkCreateItem item = items.next();
+
+            if (!item.isValid()) {
+                results.add(new BulkCreateItemResult(
+                        item.getIndex(),
+                        null,
+                        null,
+                        BulkCreateStatus.INVALID,
+                        item.getErrors()
+                ));
+
+                continue;
+            }
+
+            batch.add(item);
+
+            if (batch.size() == properties.getBatchSize()) {
+                results.addAll(write(batch));
+                batch.clear();
+            }
+        }
+
+        results.addAll(write(batch));
+        results.sort(Comparator.comparingInt(BulkCreateItemResult::getIndex));
+
+        log.info(
+                "Bulk create of {} items finished with {}",
+                results.size(),
+                results.stream().collect(Collectors.groupingBy(BulkCreateItemResult::getStatus, Collectors.counting()))
+        );
+
+        return results;
+    }
+
+    /**
+     * A batch that fails for any reason other than an existing external id is written again item by item, so only the
+     * items that cannot be written are reported as failed.
+     */
+    private List<BulkCreateItemResult> write(List<BulkCreateItem> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            Map<String, Long> ids = new TransactionTemplate(transactionManager).execute(status -> insert(batch));
+
+            return toResults(batch, ids);
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                log.error("Error persisting bulk create item {}", batch.get(0), e);
+
+                return List.of(failed(batch.get(0)));
+            }
+
+            log.warn(
+                    "Error persisting batch of {} items starting with item {}, writing them one by one",
+                    batch.size(),
+                    batch.get(0).getIndex(),
+                    e
+            );
+
+            return batch.stream()
+                    .flatMap(item -> write(List.of(item)).stream())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Map<String, Long> insert(List<BulkCreateItem> batch) {
+        Map<String, Long> ids = repository.insertAbsent(
+                batch.stream().map(item -> toDataPoint(item.getModel())).collect(Collectors.toList())
+        );
+
+        ids.keySet().forEach(externalIdFilter::add);
+
+        return ids;
+    }
+
+    /**
+     * When an external id repeats within the batch, the first occurrence is the one that was inserted.
+     */
+    private static List<BulkCreateItemResult> toResults(List<BulkCreateItem> batch, Map<String, Long> ids) {
+        List<BulkCreateItemResult> results = new ArrayList<>(batch.size());
+        Set<String> created = new HashSet<>();
+
+        for (BulkCreateItem item : batch) {
+            String externalId = item.getModel().getExternalId();
+            Long id = ids.get(externalId);
+
+            if (id != null && created.add(externalId)) {
+                results.add(new BulkCreateItemResult(
+                        item.getIndex(),
+                        externalId,
+                        id,
+                        BulkCreateStatus.CREATED,
+                        Set.of()
+                ));
+            } else {
+                results.add(new BulkCreateItemResult(
+                        item.getIndex(),
+                        externalId,
+                        null,
+                        BulkCreateStatus.CONFLICT,
+                        Set.of(new FieldError(DataPoint_.EXTERNAL_ID, CONFLICT_REASON, CONFLICT_MESSAGE))
+                ));
+            }
+        }
+
+        return results;
+    }
+
+    private static BulkCreateItemResult failed(BulkCreateItem item) {
+        return new BulkCreateItemResult(
+                item.getIndex(),
+                item.getModel().getExternalId(),
+                null,
+                BulkCreateStatus.FAILED,
+                Set.of(new FieldError(null, FAILED_REASON, FAILED_MESSAGE))
+        );
+    }
+
+    private static DataPoint toDataPoint(CreateDataPointModel model) {
+        DataPoint point = new DataPoint();
+
+        point.setExternalId(model.getExternalId());
+        point.setValue(model.getValue());
+        point.setComment(model.getComment());
+        point.setSignificance(model.getSignificance());
+
+        return point;
+    }
+}
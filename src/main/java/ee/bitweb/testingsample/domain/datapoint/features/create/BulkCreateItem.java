@@ -0,0 +1,35 @@
+package ee.bitweb.testingsample.domain.datapoint.features.create;
+
+import java.util.Set;
+
+import ee.bitweb.testingsample.common.exception.validation.FieldError;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * One item of a bulk create request, either a valid model or the errors found while reading and validating it.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkCreateItem {
+
+    private final int index;
+    private final CreateDataPointModel model;
+    private final Set<FieldError> errors;
+
+    public static BulkCreateItem valid(int index, CreateDataPointModel model) {
+        return new BulkCreateItem(index, model, Set.of());
+    }
+
+    public static BulkCreateItem invalid(int index, Set<FieldError> errors) {
+        return new BulkCreateItem(index, null, errors);
+    }
+
+    public boolean isValid() {
+        return model != null;
+    }
+}
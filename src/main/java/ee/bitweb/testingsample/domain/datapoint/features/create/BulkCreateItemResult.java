@@ -0,0 +1,24 @@
+package ee.bitweb.testingsample.domain.datapoint.features.create;
+
+import java.util.Set;
+
+import ee.bitweb.testingsample.common.exception.validation.FieldError;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkCreateItemResult {
+
+    private final int index;
+    private final String externalId;
+    /**
+     * Set for created data points only.
+     */
+    private final Long id;
+    private final BulkCreateStatus status;
+    private final Set<FieldError> errors;
+}
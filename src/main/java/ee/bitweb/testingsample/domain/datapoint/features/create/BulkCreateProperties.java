@@ -0,0 +1,26 @@
+package ee.bitweb.testingsample.domain.datapoint.features.create;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Setter
+@Getter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "data-points.bulk-create")
+public class BulkCreateProperties {
+
+    /**
+     * Number of valid items written with a single insert statement in their own transaction. Items are read from the
+     * request only as far as the current batch, so this also bounds how many data points wait in memory to be written.
+     */
+    @Positive
+    @Max(10000)
+    private int batchSize = 500;
+}
@@ -0,0 +1,17 @@
+package ee.bitweb.testingsample.domain.datapoint.features.create;
+
+public enum BulkCreateStatus {
+    CREATED,
+    /**
+     * The item could not be read or did not pass validation, it was not written.
+     */
+    INVALID,
+    /**
+     * A data point with the external id already exists or occurs earlier in the same request.
+     */
+    CONFLICT,
+    /**
+     * Writing the item failed in the database.
+     */
+    FAILED
+}
@@ -0,0 +1,74 @@
+package ee.bitweb.testingsample.domain.datapoint.features.export;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointFilter;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exports data points as CSV by handing the bytes of COPY TO STDOUT on to the output, so memory use stays the same
+ * whatever the number of rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportDataPointsFeature {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataPointRepository repository;
+
+    /**
+     * Writes the data points matching the filter to the output, which is left open. COPY hands over one row at a time,
+     * the rows are collected into larger writes before they reach the output.
+     *
+     * @param gzip whether the CSV is written gzip compressed
+     * @return number of data points exported
+     */
+    public long export(DataPointFilter filter, boolean gzip, OutputStream output) throws IOException {
+        log.info("Exporting data points with {}, gzip {}", filter, gzip);
+
+        long start = System.nanoTime();
+        OutputStream target = new NonClosingOutputStream(output);
+        long exported;
+
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(target, BUFFER_SIZE)
+                : new BufferedOutputStream(target, BUFFER_SIZE)
+        ) {
+            exported = repository.copyOutCsv(filter, out);
+        }
+
+        log.info("Exported {} data points in {} ms", exported, (System.nanoTime() - start) / 1_000_000);
+
+        return exported;
+    }
+
+    /**
+     * Lets the compressing and buffering streams be closed to finish their output without closing the output itself.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package ee.bitweb.testingsample.domain.datapoint.features.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.ListProperties;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory Bloom filter of the external ids of all data points, answers definite misses of reads without a database
+ * query.
+ * <p>
+ * Until the filter has been built every external id is reported as possibly existing. Data points written through
+ * this instance are added as they are written, data points written elsewhere are only picked up by the next rebuild.
+ * Until then they are reported as not existing, so the filter is disabled by default and may only be enabled where
+ * this instance is the only writer, see {@link ExternalIdFilterProperties#isEnabled()}. Writes never rely on a
+ * negative answer, whether a data point exists is always decided by the database.
+ */
+@Slf4j
+@Component
+public class ExternalIdFilter {
+
+    private static final String METRIC_PREFIX = "data-points.external-id-filter";
+
+    private final DataPointRepository repository;
+    private final ExternalIdFilterProperties properties;
+    private final ListProperties listProperties;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+    private final Timer rebuilds;
+
+    private final Object lock = new Object();
+    private volatile BloomFilter<CharSequence> filter;
+    private BloomFilter<CharSequence> building;
+
+    public ExternalIdFilter(
+            DataPointRepository repository,
+            ExternalIdFilterProperties properties,
+            ListProperties listProperties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+        this.properties = properties;
+        this.listProperties = listProperties;
+        this.transactionManager = transactionManager;
+
+        negatives = Counter.builder(METRIC_PREFIX + ".checks").tag("result", "negative").register(meterRegistry);
+        positives = Counter.builder(METRIC_PREFIX + ".checks").tag("result", "positive").register(meterRegistry);
+        falsePositives = Counter
+                .builder(METRIC_PREFIX + ".false-positives")
+                .description("Positive checks the database then found no data point for")
+                .register(meterRegistry);
+        rebuilds = Timer.builder(METRIC_PREFIX + ".rebuild").register(meterRegistry);
+        Gauge
+                .builder(METRIC_PREFIX + ".expected-fpp", this, ExternalIdFilter::expectedFalsePositiveProbability)
+                .description("Current false positive probability estimated from the filled share of the filter")
+                .register(meterRegistry);
+        Gauge
+                .builder(METRIC_PREFIX + ".approximate-size", this, ExternalIdFilter::approximateSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Only for reads. A data point written outside this instance since the last rebuild is reported as not existing.
+     *
+     * @return false when no data point with the given external id existed at the last rebuild or was written through
+     * this instance since
+     */
+    public boolean mightExist(String externalId) {
+        BloomFilter<CharSequence> current = filter;
+
+        if (!properties.isEnabled() || current == null) {
+            return true;
+        }
+
+        if (current.mightContain(externalId)) {
+            positives.increment();
+
+            return true;
+        }
+
+        negatives.increment();
+
+        return false;
+    }
+
+    /**
+     * Records that a lookup let through by {@link #mightExist(String)} found nothing.
+     */
+    public void reportFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Adds the external id before the data point becomes visible to others. When called within a transaction it is
+     * added again once the transaction has committed, so a rebuild scanning the table in between cannot lose it.
+     */
+    public void add(String externalId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        put(externalId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(externalId);
+                }
+            });
+        }
+    }
+
+    /**
+     * A failed initial build leaves the filter answering every check positively until the next rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to build external id filter", e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${data-points.external-id-filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${data-points.external-id-filter.rebuild-interval:PT1H}"
+    )
+    public void onRebuildInterval() {
+        rebuild();
+    }
+
+    /**
+     * Builds a new filter from a scan of all external ids and replaces the current one with it. External ids added
+     * while the scan runs go into both filters.
+     */
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long expectedInsertions = Math.max(properties.getExpectedInsertions(), repository.estimateCount() * 2);
+        BloomFilter<CharSequence> next = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8),
+                expectedInsertions,
+                properties.getFalsePositiveProbability()
+        );
+
+        synchronized (lock) {
+            building = next;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<String> externalIds = repository.streamExternalIds(listProperties.getFetchSize())) {
+                    externalIds.forEach(next::put);
+                }
+            });
+
+            synchronized (lock) {
+                filter = next;
+            }
+        } finally {
+            synchronized (lock) {
+                building = null;
+            }
+
+            long millis = sample.stop(rebuilds) / 1_000_000;
+            log.info(
+                    "Rebuilt external id filter for {} expected insertions in {} ms, approximately {} external ids",
+                    expectedInsertions,
+                    millis,
+                    next.approximateElementCount()
+            );
+        }
+    }
+
+    private void put(String externalId) {
+        synchronized (lock) {
+            if (building != null) {
+                building.put(externalId);
+            }
+
+            if (filter != null) {
+                filter.put(externalId);
+            }
+        }
+    }
+
+    private double expectedFalsePositiveProbability() {
+        BloomFilter<CharSequence> current = filter;
+
+        return current != null ? current.expectedFpp() : Double.NaN;
+    }
+
+    private double approximateSize() {
+        BloomFilter<CharSequence> current = filter;
+
+        return current != null ? current.approximateElementCount() : Double.NaN;
+    }
+}
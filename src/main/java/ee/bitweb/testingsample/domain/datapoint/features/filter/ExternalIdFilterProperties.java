@@ -0,0 +1,51 @@
+package ee.bitweb.testingsample.domain.datapoint.features.filter;
+
+import java.time.Duration;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Setter
+@Getter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "data-points.external-id-filter")
+public class ExternalIdFilterProperties {
+
+    /**
+     * When disabled every external id is treated as possibly existing and looked up from the database.
+     * <p>
+     * Enable only for a single-writer deployment: one instance of the service, and no data points written by other
+     * means such as data migrations or manual SQL. Data points written elsewhere are not known to the filter until the
+     * next rebuild, until then reads of them respond with not found.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Lower bound for the number of external ids the filter is sized for. On rebuild the filter is sized for twice the
+     * current row count when that is larger.
+     */
+    @Positive
+    private long expectedInsertions = 100000;
+
+    /**
+     * False positive probability the filter is sized for, reached when it holds the expected number of external ids.
+     */
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax(value = "0.5")
+    private double falsePositiveProbability = 0.01;
+
+    /**
+     * Delay between periodic rebuilds. Rebuilding drops external ids of deleted data points, resizes the filter and
+     * picks up data points written by other instances or directly in the database.
+     */
+    @NotNull
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,23 @@
+package ee.bitweb.testingsample.domain.datapoint.features.job;
+
+import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetImportJobFeature {
+
+    private final ImportJobRegistry registry;
+
+    public ImportJob get(String id) {
+        return registry.find(id).orElseThrow(() -> new EntityNotFoundException(
+                ImportJob.class.getSimpleName(),
+                "id",
+                id
+        ));
+    }
+}
@@ -0,0 +1,150 @@
+package ee.bitweb.testingsample.domain.datapoint.features.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ee.bitweb.testingsample.domain.datapoint.features.ImportProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportRowListener;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportedRow;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertChunkResult;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertListener;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * State of a single import run, in the background or on a request thread. Counters are updated by the import thread
+ * after every written chunk and can be read concurrently. A job runs either the regular import, reporting every row,
+ * or a bulk import with a strategy, reporting every chunk.
+ */
+@Getter
+@ToString
+public class ImportJob implements ImportRowListener, UpsertListener {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Instant createdAt = Instant.now();
+    /**
+     * Strategy of a bulk import, null when the job runs the regular import.
+     */
+    private final ImportProperties.Strategy strategy;
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong processed = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong inserted = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong updated = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong unchanged = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong duplicates = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong failed = new AtomicLong();
+
+    public ImportJob() {
+        this(null);
+    }
+
+    public ImportJob(ImportProperties.Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public boolean isBulk() {
+        return strategy != null;
+    }
+
+    @Override
+    public void onRow(ImportedRow row) {
+        processed.incrementAndGet();
+
+        switch (row.getStatus()) {
+            case CREATED:
+                inserted.incrementAndGet();
+                break;
+            case UPDATED:
+                updated.incrementAndGet();
+                break;
+            case UNCHANGED:
+                unchanged.incrementAndGet();
+                break;
+            case FAILED:
+                failed.incrementAndGet();
+                break;
+        }
+    }
+
+    @Override
+    public void onChunk(UpsertChunkResult chunk) {
+        processed.addAndGet(chunk.getSize());
+        inserted.addAndGet(chunk.getInserted());
+        updated.addAndGet(chunk.getUpdated());
+        unchanged.addAndGet(chunk.getUnchanged());
+        duplicates.addAndGet(chunk.getDuplicates());
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getInserted() {
+        return inserted.get();
+    }
+
+    public long getUpdated() {
+        return updated.get();
+    }
+
+    public long getUnchanged() {
+        return unchanged.get();
+    }
+
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public double getRowsPerSecond() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(Duration.between(start, end).toMillis(), 1);
+
+        return getProcessed() * 1000d / millis;
+    }
+
+    public boolean isFinished() {
+        return status == ImportJobStatus.COMPLETED || status == ImportJobStatus.FAILED;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = ImportJobStatus.COMPLETED;
+    }
+
+    void fail(Throwable e) {
+        errors.add(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        finishedAt = Instant.now();
+        status = ImportJobStatus.FAILED;
+    }
+}
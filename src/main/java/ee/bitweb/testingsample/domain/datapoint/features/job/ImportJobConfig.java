@@ -0,0 +1,30 @@
+package ee.bitweb.testingsample.domain.datapoint.features.job;
+
+import ee.bitweb.testingsample.common.trace.MdcTaskDecorator;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportJobConfig {
+
+    public static final String IMPORT_JOB_EXECUTOR = "importJobExecutor";
+
+    /**
+     * Only one import job runs at a time, submitting while a job is active attaches to it, so a single thread without
+     * a queue is sufficient.
+     */
+    @Bean(IMPORT_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor importJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("import-job-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+
+        return executor;
+    }
+}
@@ -0,0 +1,47 @@
+package ee.bitweb.testingsample.domain.datapoint.features.job;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import ee.bitweb.testingsample.domain.datapoint.features.ImportProperties;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory store of import jobs of this instance. Only the most recent jobs are retained.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportJobRegistry {
+
+    private final ImportProperties properties;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private ImportJob active;
+
+    public synchronized Optional<ImportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * @return job that is queued or running, if any
+     */
+    public synchronized Optional<ImportJob> findActive() {
+        if (active != null && active.isFinished()) {
+            active = null;
+        }
+
+        return Optional.ofNullable(active);
+    }
+
+    public synchronized void register(ImportJob job) {
+        jobs.put(job.getId(), job);
+        active = job;
+
+        while (jobs.size() > properties.getRetainedJobs()) {
+            jobs.remove(jobs.keySet().iterator().next());
+        }
+    }
+}
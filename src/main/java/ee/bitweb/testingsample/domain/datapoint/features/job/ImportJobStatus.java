@@ -0,0 +1,8 @@
+package ee.bitweb.testingsample.domain.datapoint.features.job;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
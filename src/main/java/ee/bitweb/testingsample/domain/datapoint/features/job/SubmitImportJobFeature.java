@@ -0,0 +1,156 @@
+package ee.bitweb.testingsample.domain.datapoint.features.job;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class SubmitImportJobFeature {
+
+    private final ImportDataPointsFeature importDataPointsFeature;
+    private final ImportJobRegistry registry;
+    private final ImportProperties properties;
+    private final TaskExecutor executor;
+
+    public SubmitImportJobFeature(
+            ImportDataPointsFeature importDataPointsFeature,
+            ImportJobRegistry registry,
+            ImportProperties properties,
+            @Qualifier(ImportJobConfig.IMPORT_JOB_EXECUTOR) TaskExecutor executor
+    ) {
+        this.importDataPointsFeature = importDataPointsFeature;
+        this.registry = registry;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts the regular import, the same one the synchronous import endpoint runs, in the background or, when an
+     * import is already queued or running, returns that one.
+     */
+    public ImportJob submit() {
+        return submit(new ImportJob());
+    }
+
+    /**
+     * Starts a new background bulk import or, when an import is already queued or running, returns that one
+     * regardless of its strategy.
+     *
+     * @param strategy how the data points are written, the configured default strategy is used when null
+     */
+    public ImportJob submitBulk(ImportProperties.Strategy strategy) {
+        return submit(new ImportJob(strategy != null ? strategy : properties.getStrategy()));
+    }
+
+    /**
+     * Registers a regular import that the caller runs itself with {@link #execute(ImportJob, Function)}, so it is
+     * serialized with the background imports and can be polled like them.
+     *
+     * @throws ConflictException when another import is queued or running
+     */
+    public ImportJob begin() {
+        return begin(new ImportJob());
+    }
+
+    /**
+     * Same as {@link #begin()}, for a bulk import.
+     *
+     * @param strategy how the data points are written, the configured default strategy is used when null
+     */
+    public ImportJob beginBulk(ImportProperties.Strategy strategy) {
+        return begin(new ImportJob(strategy != null ? strategy : properties.getStrategy()));
+    }
+
+    /**
+     * Runs an import begun with {@link #begin()} or {@link #beginBulk(ImportProperties.Strategy)} on the calling
+     * thread. The importer is given the job to report its rows or chunks to.
+     */
+    public <T> T execute(ImportJob job, Function<ImportJob, T> importer) {
+        log.info("Running import job {} on the calling thread", job.getId());
+
+        try {
+            T result = importer.apply(job);
+            job.complete();
+
+            log.info("Import job {} completed, processed {} data points", job.getId(), job.getProcessed());
+
+            return result;
+        } catch (RuntimeException e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail(e);
+
+            throw e;
+        }
+    }
+
+    private synchronized ImportJob begin(ImportJob job) {
+        Optional<ImportJob> active = registry.findActive();
+        if (active.isPresent()) {
+            log.info("Import job {} is already {}, rejecting import", active.get().getId(), active.get().getStatus());
+
+            throw new ConflictException(
+                    "Cannot start import as another import is already running",
+                    ImportJob.class.getSimpleName(),
+                    "id",
+                    active.get().getId()
+            );
+        }
+
+        registry.register(job);
+        job.start();
+
+        return job;
+    }
+
+    private synchronized ImportJob submit(ImportJob job) {
+        Optional<ImportJob> active = registry.findActive();
+        if (active.isPresent()) {
+            log.info("Import job {} is already {}, attaching to it", active.get().getId(), active.get().getStatus());
+
+            return active.get();
+        }
+
+        registry.register(job);
+
+        log.info("Submitting import job {}", job.getId());
+        try {
+            executor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            log.error("Import job {} was rejected by executor", job.getId(), e);
+            job.fail(e);
+
+            throw e;
+        }
+
+        return job;
+    }
+
+    private void run(ImportJob job) {
+        log.info("Starting import job {}", job.getId());
+        job.start();
+
+        try {
+            if (job.isBulk()) {
+                importDataPointsFeature.executeBulk(job.getStrategy(), job);
+            } else {
+                importDataPointsFeature.execute(job);
+            }
+            job.complete();
+
+            log.info("Import job {} completed, processed {} data points", job.getId(), job.getProcessed());
+        } catch (RuntimeException e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ee.bitweb.testingsample.domain.datapoint.features.update;
+
+import java.util.Collection;
+
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
+import ee.bitweb.testingsample.common.exception.persistence.PreconditionFailedException;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint_;
+import ee.bitweb.testingsample.domain.datapoint.features.GetDataPointByIdFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Partial update of a data point without loading it first. The version check and the write are one conditional
+ * statement, so nothing can change the data point between the two.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PatchDataPointFeature {
+
+    private final DataPointRepository repository;
+    private final GetDataPointByIdFeature getDataPointByIdFeature;
+    private final DataPointCache cache;
+    private final ExternalIdFilter externalIdFilter;
+
+    /**
+     * @param versions versions the data point is expected to have, null when the update does not depend on it
+     * @return the data point as updated, with its new version
+     */
+    public DataPoint patch(Long id, PatchDataPointModel model, Collection<Long> versions) {
+        log.info("Patching data point {} with {} when its version is in {}", id, model, versions);
+
+        DataPoint patched;
+        try {
+            patched = repository
+                    .patch(toDataPoint(id, model), versions)
+                    .orElseThrow(() -> createPreconditionFailedException(id));
+        } catch (DataIntegrityViolationException e) {
+            log.error("Error patching data point {} as external id {} is not unique", id, model.getExternalId());
+
+            throw new ConflictException(
+                    "Cannot persist data point as external id already exists",
+                    DataPoint.class.getSimpleName(),
+                    DataPoint_.EXTERNAL_ID,
+                    model.getExternalId()
+            );
+        }
+
+        cache.evict(patched);
+        externalIdFilter.add(patched.getExternalId());
+
+        return patched;
+    }
+
+    /**
+     * Nothing was updated, either because the data point does not exist, which is reported as such, or because its
+     * version did not match. Only this path reads the data point again.
+     */
+    private RuntimeException createPreconditionFailedException(Long id) {
+        Long current = getDataPointByIdFeature.getVersion(id);
+        log.info("Data point {} was not patched as its version {} did not match", id, current);
+
+        return new PreconditionFailedException(
+                "Cannot update data point as its version does not match",
+                DataPoint.class.getSimpleName(),
+                DataPoint_.VERSION,
+                String.valueOf(current)
+        );
+    }
+
+    private static DataPoint toDataPoint(Long id, PatchDataPointModel model) {
+        DataPoint point = new DataPoint();
+
+        point.setId(id);
+        point.setExternalId(model.getExternalId());
+        point.setValue(model.getValue());
+        point.setComment(model.getComment());
+        point.setSignificance(model.getSignificance());
+
+        return point;
+    }
+}
@@ -0,0 +1,17 @@
+package ee.bitweb.testingsample.domain.datapoint.features.update;
+
+import lombok.*;
+
+/**
+ * Fields left null are not changed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PatchDataPointModel {
+
+    private String externalId;
+    private String value;
+    private String comment;
+    private Integer significance;
+}
@@ -1,5 +1,7 @@
 package ee.bitweb.testingsample.domain.datapoint.features.update;
 
+import java.util.Objects;
+
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.features.PersistDataPointFeature;
 
@@ -17,11 +19,31 @@ public class UpdateDataPointFeature {
     public DataPoint update(DataPoint point, UpdateDataPointModel model) {
         log.info("Updating data point {} with new state {}", point, model);
 
+        if (!apply(point, model)) {
+            log.info("Data point {} did not change, skipping persist", point.getId());
+
+            return point;
+        }
+
+        return persistDataPointFeature.save(point);
+    }
+
+    /**
+     * Copies the new state onto the data point without persisting it. Returns false when an already persisted data
+     * point did not change.
+     */
+    public boolean apply(DataPoint point, UpdateDataPointModel model) {
+        boolean changed = point.getId() == null
+                || !Objects.equals(point.getExternalId(), model.getExternalId())
+                || !Objects.equals(point.getValue(), model.getValue())
+                || !Objects.equals(point.getComment(), model.getComment())
+                || !Objects.equals(point.getSignificance(), model.getSignificance());
+
         point.setExternalId(model.getExternalId());
         point.setValue(model.getValue());
         point.setComment(model.getComment());
         point.setSignificance(model.getSignificance());
 
-        return persistDataPointFeature.save(point);
+        return changed;
     }
 }
@@ -0,0 +1,164 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import ee.bitweb.testingsample.domain.datapoint.features.ImportProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Spreads the upsert over several workers. Data points are partitioned by the hash of their external id, so every row
+ * is written by exactly one worker and workers never wait on each other's row locks. Every worker chunks and commits
+ * its partition on its own, with commit policy RUN a partition rather than the whole import is a single transaction.
+ */
+@Slf4j
+@Service
+public class PartitionedUpsertDataPointsFeature {
+
+    private static final int QUEUED_BATCHES_PER_PARTITION = 2;
+
+    private final UpsertDataPointsFeature upsertFeature;
+    private final ImportProperties properties;
+    private final AsyncTaskExecutor executor;
+
+    public PartitionedUpsertDataPointsFeature(
+            UpsertDataPointsFeature upsertFeature,
+            ImportProperties properties,
+            @Qualifier(UpsertConfig.UPSERT_WORKER_EXECUTOR) AsyncTaskExecutor executor
+    ) {
+        this.upsertFeature = upsertFeature;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    public UpsertResult upsert(Iterator<UpdateDataPointModel> models, UpsertListener listener) {
+        if (properties.getWorkers() <= 1) {
+            return upsertFeature.upsert(models, listener);
+        }
+
+        log.info("Upserting data points in {} partitions", properties.getWorkers());
+
+        List<UpsertPartition> partitions = new ArrayList<>(properties.getWorkers());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            partitions.add(new UpsertPartition(i, properties.getChunkSize(), QUEUED_BATCHES_PER_PARTITION));
+        }
+
+        List<Future<UpsertPartitionResult>> workers = new ArrayList<>(partitions.size());
+        for (UpsertPartition partition : partitions) {
+            workers.add(executor.submit(() -> upsertPartition(partition, partitions, listener)));
+        }
+
+        RuntimeException failure = dispatch(models, partitions);
+        List<UpsertPartitionResult> results = new ArrayList<>(partitions.size());
+
+        for (Future<UpsertPartitionResult> worker : workers) {
+            try {
+                results.add(worker.get());
+            } catch (ExecutionException e) {
+                if (failure == null || failure instanceof UpsertPartition.AbortedException) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                partitions.forEach(UpsertPartition::abort);
+
+                throw new IllegalStateException("Interrupted while waiting for upsert workers", e);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        UpsertResult result = UpsertResult.ofPartitions(results);
+        log.info(
+                "Upserted {} partitions, inserted {}, updated {}, unchanged {}, duplicates {}",
+                results.size(),
+                result.getInserted(),
+                result.getUpdated(),
+                result.getUnchanged(),
+                result.getDuplicates()
+        );
+
+        return result;
+    }
+
+    /**
+     * Reads the feed on the calling thread and routes every data point to its partition. Returns the failure that
+     * stopped dispatching, in which case all partitions have been aborted.
+     */
+    private RuntimeException dispatch(Iterator<UpdateDataPointModel> models, List<UpsertPartition> partitions) {
+        try {
+            while (models.hasNext()) {
+                UpdateDataPointModel model = models.next();
+
+                partitions.get(partitionOf(model, partitions.size())).add(model);
+            }
+
+            for (UpsertPartition partition : partitions) {
+                partition.finish();
+            }
+
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            partitions.forEach(UpsertPartition::abort);
+
+            return new IllegalStateException("Interrupted while dispatching data points", e);
+        } catch (UpsertPartition.AbortedException e) {
+            return e;
+        } catch (RuntimeException e) {
+            log.error("Dispatching data points failed, aborting all partitions", e);
+            partitions.forEach(UpsertPartition::abort);
+
+            return e;
+        }
+    }
+
+    private UpsertPartitionResult upsertPartition(
+            UpsertPartition partition,
+            List<UpsertPartition> partitions,
+            UpsertListener listener
+    ) {
+        long start = System.nanoTime();
+
+        try {
+            UpsertResult result = upsertFeature.upsert(partition, listener);
+            UpsertPartitionResult partitionResult = new UpsertPartitionResult(
+                    partition.getIndex(),
+                    result,
+                    (System.nanoTime() - start) / 1_000_000
+            );
+            log.info(
+                    "Upserted partition {} of {} data points in {} ms",
+                    partition.getIndex(),
+                    result.getSize(),
+                    partitionResult.getDurationMillis()
+            );
+
+            return partitionResult;
+        } catch (RuntimeException e) {
+            if (!(e instanceof UpsertPartition.AbortedException)) {
+                log.error("Upserting partition {} failed, aborting all partitions", partition.getIndex(), e);
+                partitions.forEach(UpsertPartition::abort);
+            }
+
+            throw e;
+        }
+    }
+
+    static int partitionOf(UpdateDataPointModel model, int partitions) {
+        return Math.floorMod(Objects.hashCode(model.getExternalId()), partitions);
+    }
+}
@@ -0,0 +1,26 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class UpsertChunkResult {
+
+    private final int index;
+    private final int size;
+    private final int inserted;
+    private final int updated;
+    /**
+     * Data points that were skipped as their content had not changed.
+     */
+    private final int unchanged;
+    /**
+     * Repeated external ids in the chunk, only their last occurrence is written and counted as inserted, updated or
+     * unchanged.
+     */
+    private final int duplicates;
+    private final long durationMillis;
+}
@@ -0,0 +1,33 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+import ee.bitweb.testingsample.common.trace.MdcTaskDecorator;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportProperties;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@RequiredArgsConstructor
+public class UpsertConfig {
+
+    public static final String UPSERT_WORKER_EXECUTOR = "upsertWorkerExecutor";
+
+    private final ImportProperties properties;
+
+    /**
+     * One thread per partition, as every partition is consumed by a worker for the whole duration of the import.
+     */
+    @Bean(UPSERT_WORKER_EXECUTOR)
+    public ThreadPoolTaskExecutor upsertWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(properties.getWorkers());
+        executor.setMaxPoolSize(properties.getWorkers());
+        executor.setThreadNamePrefix("upsert-worker-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+
+        return executor;
+    }
+}
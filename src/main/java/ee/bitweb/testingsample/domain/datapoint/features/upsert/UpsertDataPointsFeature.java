@@ -0,0 +1,172 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
+import ee.bitweb.testingsample.domain.datapoint.common.BulkWriteResult;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointContentHash;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint_;
+import ee.bitweb.testingsample.domain.datapoint.features.ImportProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UpsertDataPointsFeature {
+
+    private final DataPointRepository repository;
+    private final ImportProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    public UpsertResult upsert(Iterator<UpdateDataPointModel> models) {
+        return upsert(models, UpsertListener.NONE);
+    }
+
+    public UpsertResult upsert(Iterator<UpdateDataPointModel> models, UpsertListener listener) {
+        log.info(
+                "Upserting data points in chunks of {} with commit policy {}",
+                properties.getChunkSize(),
+                properties.getCommitPolicy()
+        );
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        if (properties.getCommitPolicy() == ImportProperties.CommitPolicy.RUN) {
+            return transaction.execute(status -> upsertChunks(
+                    models,
+                    TransactionOperations.withoutTransaction(),
+                    listener
+            ));
+        }
+
+        return upsertChunks(models, transaction, listener);
+    }
+
+    private UpsertResult upsertChunks(
+            Iterator<UpdateDataPointModel> models,
+            TransactionOperations chunkTransaction,
+            UpsertListener listener
+    ) {
+        List<UpsertChunkResult> results = new ArrayList<>();
+
+        while (models.hasNext()) {
+            int index = results.size();
+            List<UpdateDataPointModel> chunk = nextChunk(models);
+
+            UpsertChunkResult result = chunkTransaction.execute(status -> upsertChunk(index, chunk));
+
+            results.add(result);
+            listener.onChunk(result);
+        }
+
+        UpsertResult result = new UpsertResult(results);
+        log.info(
+                "Upserted {} chunks, inserted {}, updated {}, unchanged {}, duplicates {}",
+                results.size(),
+                result.getInserted(),
+                result.getUpdated(),
+                result.getUnchanged(),
+                result.getDuplicates()
+        );
+
+        return result;
+    }
+
+    private UpsertChunkResult upsertChunk(int index, List<UpdateDataPointModel> chunk) {
+        long start = System.nanoTime();
+
+        Map<String, DataPoint> points = toDataPoints(chunk);
+        Collection<DataPoint> changed = withoutUnchanged(points);
+
+        BulkWriteResult written;
+        try {
+            written = repository.upsert(changed);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Error upserting chunk {} starting with external id {}", index, chunk.get(0).getExternalId());
+
+            throw new ConflictException(
+                    "Cannot persist data point as external id already exists",
+                    DataPoint.class.getSimpleName(),
+                    DataPoint_.EXTERNAL_ID,
+                    chunk.get(0).getExternalId()
+            );
+        }
+
+        UpsertChunkResult result = new UpsertChunkResult(
+                index,
+                chunk.size(),
+                written.getInserted(),
+                written.getUpdated(),
+                points.size() - written.getInserted() - written.getUpdated(),
+                chunk.size() - points.size(),
+                (System.nanoTime() - start) / 1_000_000
+        );
+        log.debug("Upserted chunk {}", result);
+
+        return result;
+    }
+
+    private List<UpdateDataPointModel> nextChunk(Iterator<UpdateDataPointModel> models) {
+        List<UpdateDataPointModel> chunk = new ArrayList<>(properties.getChunkSize());
+
+        while (models.hasNext() && chunk.size() < properties.getChunkSize()) {
+            chunk.add(models.next());
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Drops data points whose content hash matches the stored one, so rows that did not change are neither sent to
+     * the database nor rewritten. Stored hashes of the whole chunk are loaded with a single query.
+     */
+    private Collection<DataPoint> withoutUnchanged(Map<String, DataPoint> points) {
+        Map<String, Long> storedHashes = repository.findContentHashes(points.keySet());
+
+        return points.values()
+                .stream()
+                .filter(point -> {
+                    Long stored = storedHashes.get(point.getExternalId());
+
+                    return stored == null || stored != DataPointContentHash.of(point);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A single upsert statement cannot touch the same row twice, so within a chunk the last occurrence of an external
+     * id wins, same as it would when the rows were written one by one.
+     */
+    private Map<String, DataPoint> toDataPoints(List<UpdateDataPointModel> chunk) {
+        Map<String, DataPoint> points = new LinkedHashMap<>();
+
+        for (UpdateDataPointModel model : chunk) {
+            DataPoint point = new DataPoint();
+
+            point.setExternalId(model.getExternalId());
+            point.setValue(model.getValue());
+            point.setComment(model.getComment());
+            point.setSignificance(model.getSignificance());
+
+            points.put(model.getExternalId(), point);
+        }
+
+        return points;
+    }
+}
@@ -0,0 +1,13 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+/**
+ * Receives the result of every chunk as soon as the chunk has been written. When the import is partitioned between
+ * several workers, chunks are reported from all worker threads concurrently.
+ */
+@FunctionalInterface
+public interface UpsertListener {
+
+    UpsertListener NONE = chunk -> {};
+
+    void onChunk(UpsertChunkResult chunk);
+}
@@ -0,0 +1,136 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+
+import lombok.Getter;
+
+/**
+ * Hands the data points of a single partition over from the dispatching thread to the worker writing them. Data points
+ * are passed on in batches to keep the hand-over cheap, the bounded queue keeps the dispatcher from reading the feed
+ * further ahead than the worker is able to write.
+ */
+class UpsertPartition implements Iterator<UpdateDataPointModel> {
+
+    private static final long POLL_MILLIS = 100;
+    private static final List<UpdateDataPointModel> END = new ArrayList<>();
+
+    @Getter
+    private final int index;
+    private final int batchSize;
+    private final BlockingQueue<List<UpdateDataPointModel>> queue;
+
+    private volatile boolean aborted;
+
+    private List<UpdateDataPointModel> pending;
+    private Iterator<UpdateDataPointModel> current = Collections.emptyIterator();
+    private boolean ended;
+
+    UpsertPartition(int index, int batchSize, int queuedBatches) {
+        this.index = index;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queuedBatches);
+        this.pending = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Called by the dispatcher, blocks while the worker is behind by the full queue capacity.
+     */
+    void add(UpdateDataPointModel model) throws InterruptedException {
+        if (aborted) {
+            throw new AbortedException(index);
+        }
+
+        pending.add(model);
+
+        if (pending.size() >= batchSize) {
+            send(pending);
+            pending = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Called by the dispatcher once the feed has been read to the end.
+     */
+    void finish() throws InterruptedException {
+        if (!pending.isEmpty()) {
+            send(pending);
+        }
+
+        send(END);
+    }
+
+    /**
+     * Makes both the dispatcher and the worker give up on the partition at their next hand-over.
+     */
+    void abort() {
+        aborted = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !ended) {
+            List<UpdateDataPointModel> batch = take();
+
+            if (batch == END) {
+                ended = true;
+            } else {
+                current = batch.iterator();
+            }
+        }
+
+        return current.hasNext();
+    }
+
+    @Override
+    public UpdateDataPointModel next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    private void send(List<UpdateDataPointModel> batch) throws InterruptedException {
+        while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (aborted) {
+                throw new AbortedException(index);
+            }
+        }
+    }
+
+    private List<UpdateDataPointModel> take() {
+        try {
+            List<UpdateDataPointModel> batch = null;
+
+            while (batch == null) {
+                if (aborted) {
+                    throw new AbortedException(index);
+                }
+
+                batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new AbortedException(index);
+        }
+    }
+
+    static class AbortedException extends RuntimeException {
+
+        AbortedException(int index) {
+            super("Upsert of partition " + index + " was aborted");
+        }
+    }
+}
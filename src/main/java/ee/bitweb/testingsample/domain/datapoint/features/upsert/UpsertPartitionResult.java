@@ -0,0 +1,18 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class UpsertPartitionResult {
+
+    private final int index;
+    private final UpsertResult result;
+    /**
+     * Time the worker spent on the partition, including waiting for data points to be dispatched to it.
+     */
+    private final long durationMillis;
+}
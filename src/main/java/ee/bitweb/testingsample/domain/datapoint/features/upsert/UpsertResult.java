@@ -0,0 +1,56 @@
+package ee.bitweb.testingsample.domain.datapoint.features.upsert;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class UpsertResult {
+
+    private final List<UpsertChunkResult> chunks;
+    /**
+     * Results of the individual workers, empty when the import was not partitioned.
+     */
+    private final List<UpsertPartitionResult> partitions;
+
+    public UpsertResult(List<UpsertChunkResult> chunks) {
+        this(chunks, List.of());
+    }
+
+    private UpsertResult(List<UpsertChunkResult> chunks, List<UpsertPartitionResult> partitions) {
+        this.chunks = List.copyOf(chunks);
+        this.partitions = List.copyOf(partitions);
+    }
+
+    public static UpsertResult ofPartitions(List<UpsertPartitionResult> partitions) {
+        return new UpsertResult(
+                partitions.stream()
+                        .flatMap(partition -> partition.getResult().getChunks().stream())
+                        .collect(Collectors.toList()),
+                partitions
+        );
+    }
+
+    public int getSize() {
+        return chunks.stream().mapToInt(UpsertChunkResult::getSize).sum();
+    }
+
+    public int getInserted() {
+        return chunks.stream().mapToInt(UpsertChunkResult::getInserted).sum();
+    }
+
+    public int getUpdated() {
+        return chunks.stream().mapToInt(UpsertChunkResult::getUpdated).sum();
+    }
+
+    public int getUnchanged() {
+        return chunks.stream().mapToInt(UpsertChunkResult::getUnchanged).sum();
+    }
+
+    public int getDuplicates() {
+        return chunks.stream().mapToInt(UpsertChunkResult::getDuplicates).sum();
+    }
+}
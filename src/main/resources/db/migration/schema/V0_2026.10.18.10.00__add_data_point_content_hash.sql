@@ -0,0 +1,3 @@
+-- Hash of the data point content, computed by the application (DataPointContentHash). Existing rows are left
+-- without a hash and get one on their next write.
+ALTER TABLE data_point ADD COLUMN content_hash BIGINT;
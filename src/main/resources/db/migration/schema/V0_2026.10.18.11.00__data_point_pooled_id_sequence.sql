@@ -0,0 +1,4 @@
+-- Data point ids are allocated by Hibernate in blocks of 50 (pooled optimizer), which allows inserts to be JDBC
+-- batched. The sequence keeps its current value, so existing ids stay as they are and new blocks start above them.
+-- Rows inserted with the column default (bulk upsert) take a value from the sequence as before, only further apart.
+ALTER SEQUENCE data_point_id_seq INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- Indexes for the list filters. Prefix filters are LIKE 'prefix%' queries, which can only use a B-tree index built
+-- with the pattern operator class unless the database collation is C. The significance index carries id so that a
+-- filtered keyset page can be read in id order straight from the index.
+CREATE INDEX data_point_value_pattern_idx ON data_point (value varchar_pattern_ops);
+CREATE INDEX data_point_external_id_pattern_idx ON data_point (external_id varchar_pattern_ops);
+CREATE INDEX data_point_significance_id_idx ON data_point (significance, id);
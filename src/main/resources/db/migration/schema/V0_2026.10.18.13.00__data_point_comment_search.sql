@@ -0,0 +1,7 @@
+-- Search vector of the comment, kept up to date by the database on every insert and update, including bulk upserts
+-- and COPY merges. The 'simple' configuration only lower-cases words, comments are not in any single language.
+-- Generated columns need PostgreSQL 12 or newer.
+ALTER TABLE data_point
+    ADD COLUMN comment_search tsvector GENERATED ALWAYS AS (to_tsvector('simple', coalesce(comment, ''))) STORED;
+
+CREATE INDEX data_point_comment_search_idx ON data_point USING GIN (comment_search);
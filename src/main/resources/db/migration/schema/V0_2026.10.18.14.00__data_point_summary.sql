@@ -0,0 +1,117 @@
+-- Aggregates of data_point by significance and by value, maintained by statement level triggers within the writing
+-- transaction. A statement touching many rows, such as the bulk upsert or the COPY merge, updates every summary row
+-- once with the net change of the whole statement. Rows whose significance and value did not change produce no change
+-- and so do not lock summary rows. Changes are applied in key order so concurrent writers cannot deadlock on them.
+CREATE TABLE data_point_significance_summary
+(
+    significance INTEGER PRIMARY KEY,
+    point_count  BIGINT NOT NULL
+);
+
+CREATE TABLE data_point_value_summary
+(
+    value          VARCHAR(255) PRIMARY KEY,
+    point_count    BIGINT NOT NULL,
+    weighted_total BIGINT NOT NULL
+);
+
+CREATE INDEX data_point_value_summary_weighted_total_idx ON data_point_value_summary (weighted_total DESC, value);
+
+CREATE FUNCTION data_point_summary_update() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    changed_values        VARCHAR[];
+    changed_significances INTEGER[];
+    changes               INTEGER[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(value), array_agg(significance), array_agg(1)
+        INTO changed_values, changed_significances, changes
+        FROM new_rows;
+    ELSIF TG_OP = 'UPDATE' THEN
+        SELECT array_agg(value), array_agg(significance), array_agg(change)
+        INTO changed_values, changed_significances, changes
+        FROM (SELECT value, significance, 1 AS change FROM new_rows
+              UNION ALL
+              SELECT value, significance, -1 AS change FROM old_rows) c;
+    ELSE
+        SELECT array_agg(value), array_agg(significance), array_agg(-1)
+        INTO changed_values, changed_significances, changes
+        FROM old_rows;
+    END IF;
+
+    IF changes IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO data_point_significance_summary AS s (significance, point_count)
+    SELECT significance, sum(change)
+    FROM unnest(changed_significances, changes) AS c (significance, change)
+    GROUP BY significance
+    HAVING sum(change) <> 0
+    ORDER BY significance
+    ON CONFLICT (significance) DO UPDATE SET point_count = s.point_count + EXCLUDED.point_count;
+
+    INSERT INTO data_point_value_summary AS s (value, point_count, weighted_total)
+    SELECT value, sum(change), sum(change * significance)
+    FROM unnest(changed_values, changed_significances, changes) AS c (value, significance, change)
+    GROUP BY value
+    HAVING sum(change) <> 0 OR sum(change * significance) <> 0
+    ORDER BY value
+    ON CONFLICT (value) DO UPDATE SET point_count    = s.point_count + EXCLUDED.point_count,
+                                      weighted_total = s.weighted_total + EXCLUDED.weighted_total;
+
+    DELETE FROM data_point_significance_summary WHERE point_count = 0;
+    DELETE FROM data_point_value_summary WHERE point_count = 0 AND value = ANY (changed_values);
+
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION data_point_summary_truncate() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    TRUNCATE data_point_significance_summary, data_point_value_summary;
+
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER data_point_summary_insert
+    AFTER INSERT
+    ON data_point
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_summary_update();
+
+CREATE TRIGGER data_point_summary_update
+    AFTER UPDATE
+    ON data_point
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_summary_update();
+
+CREATE TRIGGER data_point_summary_delete
+    AFTER DELETE
+    ON data_point
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_summary_update();
+
+CREATE TRIGGER data_point_summary_truncate
+    AFTER TRUNCATE
+    ON data_point
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_summary_truncate();
+
+INSERT INTO data_point_significance_summary (significance, point_count)
+SELECT significance, count(*)
+FROM data_point
+GROUP BY significance;
+
+INSERT INTO data_point_value_summary (value, point_count, weighted_total)
+SELECT value, count(*), sum(significance)
+FROM data_point
+GROUP BY value;
@@ -0,0 +1,62 @@
+-- Version of every data point, incremented by Hibernate (@Version) and by the bulk upsert on every update.
+ALTER TABLE data_point ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Table level change counter: the sum of all slots grows with every statement that changes data_point. Writers
+-- increment the slot of their backend only, so concurrent writers rarely wait for each other's commit, while readers
+-- see the sum as of their snapshot, which only moves once a change has been committed.
+CREATE TABLE data_point_change_counter
+(
+    slot    INTEGER PRIMARY KEY,
+    changes BIGINT NOT NULL
+);
+
+INSERT INTO data_point_change_counter (slot, changes)
+SELECT slot, 0
+FROM generate_series(0, 15) slot;
+
+CREATE FUNCTION data_point_change_count() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF NOT EXISTS(SELECT FROM old_rows) THEN
+            RETURN NULL;
+        END IF;
+    ELSIF TG_OP <> 'TRUNCATE' THEN
+        IF NOT EXISTS(SELECT FROM new_rows) THEN
+            RETURN NULL;
+        END IF;
+    END IF;
+
+    UPDATE data_point_change_counter SET changes = changes + 1 WHERE slot = pg_backend_pid() % 16;
+
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER data_point_change_count_insert
+    AFTER INSERT
+    ON data_point
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_change_count();
+
+CREATE TRIGGER data_point_change_count_update
+    AFTER UPDATE
+    ON data_point
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_change_count();
+
+CREATE TRIGGER data_point_change_count_delete
+    AFTER DELETE
+    ON data_point
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_change_count();
+
+CREATE TRIGGER data_point_change_count_truncate
+    AFTER TRUNCATE
+    ON data_point
+    FOR EACH STATEMENT
+EXECUTE FUNCTION data_point_change_count();
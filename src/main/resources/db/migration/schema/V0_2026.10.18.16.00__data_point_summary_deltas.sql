@@ -0,0 +1,131 @@
+-- Writers no longer update the summary rows themselves. The summary triggers only append the net change of their
+-- statement to delta tables, which takes no lock another writer could wait for, regardless of how many statements a
+-- transaction runs or how many transactions write in parallel. Previously every writer upserted the same few summary
+-- rows and held their locks until commit, so writers were serialized on them and two transactions running several
+-- statements each could deadlock, the key order within one statement did not prevent that.
+--
+-- Readers add the pending deltas to the summary, see data_point_summary_fold() for how deltas are folded into it.
+CREATE TABLE data_point_significance_summary_delta
+(
+    significance INTEGER NOT NULL,
+    point_count  BIGINT  NOT NULL
+);
+
+CREATE TABLE data_point_value_summary_delta
+(
+    value          VARCHAR(255) NOT NULL,
+    point_count    BIGINT       NOT NULL,
+    weighted_total BIGINT       NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION data_point_summary_update() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    changed_values        VARCHAR[];
+    changed_significances INTEGER[];
+    changes               INTEGER[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(value), array_agg(significance), array_agg(1)
+        INTO changed_values, changed_significances, changes
+        FROM new_rows;
+    ELSIF TG_OP = 'UPDATE' THEN
+        SELECT array_agg(value), array_agg(significance), array_agg(change)
+        INTO changed_values, changed_significances, changes
+        FROM (SELECT value, significance, 1 AS change FROM new_rows
+              UNION ALL
+              SELECT value, significance, -1 AS change FROM old_rows) c;
+    ELSE
+        SELECT array_agg(value), array_agg(significance), array_agg(-1)
+        INTO changed_values, changed_significances, changes
+        FROM old_rows;
+    END IF;
+
+    IF changes IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO data_point_significance_summary_delta (significance, point_count)
+    SELECT significance, sum(change)
+    FROM unnest(changed_significances, changes) AS c (significance, change)
+    GROUP BY significance
+    HAVING sum(change) <> 0;
+
+    INSERT INTO data_point_value_summary_delta (value, point_count, weighted_total)
+    SELECT value, sum(change), sum(change * significance)
+    FROM unnest(changed_values, changed_significances, changes) AS c (value, significance, change)
+    GROUP BY value
+    HAVING sum(change) <> 0 OR sum(change * significance) <> 0;
+
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION data_point_summary_truncate() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    TRUNCATE data_point_significance_summary, data_point_value_summary,
+        data_point_significance_summary_delta, data_point_value_summary_delta;
+
+    RETURN NULL;
+END;
+$$;
+
+-- Moves all committed deltas into the summary tables in one short transaction of its own. Deltas are deleted and
+-- added in the same statement, so readers see every change either as a delta or in the summary, never twice. Writers
+-- only ever insert deltas, so folding never waits for them. Concurrent folds, e.g. from several instances, are
+-- serialized by an advisory lock.
+--
+-- Returns the number of delta rows folded.
+CREATE FUNCTION data_point_summary_fold() RETURNS BIGINT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    folded_significances BIGINT;
+    folded_values        BIGINT;
+    emptied_values       VARCHAR[];
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('data_point_summary_fold'));
+
+    WITH folded AS (
+        DELETE FROM data_point_significance_summary_delta RETURNING significance, point_count
+    ),
+         merged AS (
+             INSERT INTO data_point_significance_summary AS s (significance, point_count)
+                 SELECT significance, sum(point_count)
+                 FROM folded
+                 GROUP BY significance
+                 HAVING sum(point_count) <> 0
+                 ORDER BY significance
+                 ON CONFLICT (significance) DO UPDATE SET point_count = s.point_count + EXCLUDED.point_count
+         )
+    SELECT count(*)
+    INTO folded_significances
+    FROM folded;
+
+    WITH folded AS (
+        DELETE FROM data_point_value_summary_delta RETURNING value, point_count, weighted_total
+    ),
+         merged AS (
+             INSERT INTO data_point_value_summary AS s (value, point_count, weighted_total)
+                 SELECT value, sum(point_count), sum(weighted_total)
+                 FROM folded
+                 GROUP BY value
+                 HAVING sum(point_count) <> 0 OR sum(weighted_total) <> 0
+                 ORDER BY value
+                 ON CONFLICT (value) DO UPDATE SET point_count    = s.point_count + EXCLUDED.point_count,
+                                                   weighted_total = s.weighted_total + EXCLUDED.weighted_total
+                 RETURNING value, point_count
+         )
+    SELECT (SELECT count(*) FROM folded), array_agg(value) FILTER (WHERE point_count = 0)
+    INTO folded_values, emptied_values
+    FROM merged;
+
+    DELETE FROM data_point_significance_summary WHERE point_count = 0;
+    DELETE FROM data_point_value_summary WHERE point_count = 0 AND value = ANY (emptied_values);
+
+    RETURN folded_significances + folded_values;
+END;
+$$;
@@ -0,0 +1,77 @@
+-- Same hash as DataPointContentHash in the application, so statements that change a data point in place, like PATCH,
+-- can write its content hash in the same statement. Strings are hashed as UTF-16 code units like Java does, and
+-- bigint arithmetic wraps around on overflow like Java's long.
+CREATE FUNCTION data_point_hash_multiply(hash BIGINT, factor BIGINT) RETURNS BIGINT
+    LANGUAGE plpgsql IMMUTABLE STRICT AS
+$$
+DECLARE
+    product NUMERIC := (hash::NUMERIC * factor) % 18446744073709551616;
+BEGIN
+    IF product < 0 THEN
+        product := product + 18446744073709551616;
+    END IF;
+
+    IF product >= 9223372036854775808 THEN
+        product := product - 18446744073709551616;
+    END IF;
+
+    RETURN product::BIGINT;
+END;
+$$;
+
+CREATE FUNCTION data_point_hash_mix(hash BIGINT, content TEXT) RETURNS BIGINT
+    LANGUAGE plpgsql IMMUTABLE AS
+$$
+DECLARE
+    prime      CONSTANT BIGINT := 1099511628211;
+    units      INTEGER[]       := '{}';
+    code_point INTEGER;
+    unit       INTEGER;
+BEGIN
+    IF content IS NULL THEN
+        RETURN data_point_hash_multiply(hash # -1::BIGINT, prime);
+    END IF;
+
+    FOR i IN 1..char_length(content)
+        LOOP
+            code_point := ascii(substr(content, i, 1));
+
+            IF code_point >= 65536 THEN
+                units := units || (55296 + ((code_point - 65536) >> 10)) || (56320 + ((code_point - 65536) & 1023));
+            ELSE
+                units := units || code_point;
+            END IF;
+        END LOOP;
+
+    hash := data_point_hash_multiply(hash # coalesce(array_length(units, 1), 0)::BIGINT, prime);
+
+    FOREACH unit IN ARRAY units
+        LOOP
+            hash := data_point_hash_multiply(hash # unit::BIGINT, prime);
+        END LOOP;
+
+    RETURN hash;
+END;
+$$;
+
+CREATE FUNCTION data_point_content_hash(external_id VARCHAR, value VARCHAR, comment TEXT, significance INTEGER)
+    RETURNS BIGINT
+    LANGUAGE plpgsql IMMUTABLE AS
+$$
+DECLARE
+    hash BIGINT := -3750763034362895579;
+BEGIN
+    hash := data_point_hash_mix(hash, external_id);
+    hash := data_point_hash_mix(hash, value);
+    hash := data_point_hash_mix(hash, comment);
+    hash := data_point_hash_multiply(hash # coalesce(significance, -1)::BIGINT, 1099511628211);
+
+    hash := hash # ((hash >> 33) & 2147483647);
+    hash := data_point_hash_multiply(hash, -49064778989728563);
+    hash := hash # ((hash >> 33) & 2147483647);
+    hash := data_point_hash_multiply(hash, -4265267296055464877);
+    hash := hash # ((hash >> 33) & 2147483647);
+
+    RETURN hash;
+END;
+$$;
@@ -0,0 +1,117 @@
+package ee.bitweb.testingsample.common.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDecompressionFilterUnitTests {
+
+    private static final String BODY = "{\"externalId\":\"external-id-1\"}";
+
+    @Test
+    void onBlockingReadShouldInflateBody() throws IOException {
+        ServletInputStream inputStream = inflating(new CompressedInputStream(gzip(BODY)));
+
+        assertAll(
+                () -> assertEquals(BODY, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)),
+                () -> assertTrue(inputStream.isFinished())
+        );
+    }
+
+    @Test
+    void onReadListenerShouldInflateBodyOnceCompressedBodyHasArrived() throws IOException {
+        CompressedInputStream compressed = new CompressedInputStream(gzip(BODY));
+        ServletInputStream inputStream = inflating(compressed);
+        ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean(false);
+
+        inputStream.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[4];
+                int n;
+
+                while (inputStream.isReady() && (n = inputStream.read(buffer)) != -1) {
+                    inflated.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertFalse(inputStream.isReady());
+
+        compressed.listener.onDataAvailable();
+        compressed.listener.onAllDataRead();
+
+        assertAll(
+                () -> assertEquals(BODY, inflated.toString(StandardCharsets.UTF_8)),
+                () -> assertTrue(allDataRead.get())
+        );
+    }
+
+    private static ServletInputStream inflating(ServletInputStream compressed) {
+        return new RequestDecompressionFilter.InflatingInputStream(compressed, 1024);
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Serves the whole compressed body at once and keeps the listener, so a test can play the container's part.
+     */
+    private static class CompressedInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        private ReadListener listener;
+
+        CompressedInputStream(byte[] body) {
+            this.delegate = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            this.listener = listener;
+        }
+    }
+}
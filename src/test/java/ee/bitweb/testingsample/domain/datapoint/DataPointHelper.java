@@ -1,6 +1,7 @@
 package ee.bitweb.testingsample.domain.datapoint;
 
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
 
 import lombok.NoArgsConstructor;
 
@@ -17,4 +18,15 @@ public class DataPointHelper {
 
         return p;
     }
+
+    public static DataPointView createView(Long id) {
+        return new DataPointView(
+                id,
+                "external-id-" + id,
+                "some-value-" + id,
+                "some-comment-" + id,
+                (int) (id % 2),
+                0L
+        );
+    }
 }
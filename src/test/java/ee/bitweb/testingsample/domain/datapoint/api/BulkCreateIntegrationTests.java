@@ -0,0 +1,166 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "data-points.bulk-create.batch-size=2"
+)
+class BulkCreateIntegrationTests {
+
+    private static final String URI = "/data-points/bulk";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @AfterEach
+    void afterEach() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void onJsonArrayShouldCreateValidItemsAndReportEveryItem() throws Exception {
+        repository.save(DataPointHelper.create(1L));
+
+        JSONArray payload = new JSONArray()
+                .put(createPayload(2L))
+                .put(createPayload(3L).put("value", ""))
+                .put(createPayload(4L).put("significance", "abc"))
+                .put(createPayload(1L))
+                .put(createPayload(5L))
+                .put(createPayload(5L));
+
+        mockMvc.perform(createDefaultRequest(MediaType.APPLICATION_JSON, payload.toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failed", is(4)))
+                .andExpect(jsonPath("$.items", hasSize(6)))
+                .andExpect(jsonPath("$.items[0].index", is(0)))
+                .andExpect(jsonPath("$.items[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[0].externalId", is("external-id-2")))
+                .andExpect(jsonPath("$.items[0].id", is(notNullValue())))
+                .andExpect(jsonPath("$.items[0].errors", hasSize(0)))
+                .andExpect(jsonPath("$.items[1].status", is("INVALID")))
+                .andExpect(jsonPath("$.items[1].errors", hasSize(1)))
+                .andExpect(jsonPath("$.items[1].errors[0].field", is("value")))
+                .andExpect(jsonPath("$.items[1].errors[0].reason", is("NotBlank")))
+                .andExpect(jsonPath("$.items[2].status", is("INVALID")))
+                .andExpect(jsonPath("$.items[2].errors[0].field", is("significance")))
+                .andExpect(jsonPath("$.items[2].errors[0].reason", is("InvalidFormat")))
+                .andExpect(jsonPath("$.items[3].status", is("CONFLICT")))
+                .andExpect(jsonPath("$.items[3].externalId", is("external-id-1")))
+                .andExpect(jsonPath("$.items[3].errors[0].field", is("externalId")))
+                .andExpect(jsonPath("$.items[3].errors[0].reason", is("Conflict")))
+                .andExpect(jsonPath("$.items[4].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[4].externalId", is("external-id-5")))
+                .andExpect(jsonPath("$.items[5].status", is("CONFLICT")))
+                .andExpect(jsonPath("$.items[5].externalId", is("external-id-5")));
+
+        assertEquals(3, repository.count());
+        assertTrue(repository.findAll().stream().map(DataPoint::getExternalId).anyMatch("external-id-2"::equals));
+    }
+
+    @Test
+    void onNdjsonShouldCreateAllItemsInBatches() throws Exception {
+        StringBuilder payload = new StringBuilder();
+
+        for (long id = 1; id <= 5; id++) {
+            payload.append(createPayload(id)).append('\n');
+        }
+
+        mockMvc.perform(createDefaultRequest(MediaType.APPLICATION_NDJSON, payload.toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(5)))
+                .andExpect(jsonPath("$.failed", is(0)))
+                .andExpect(jsonPath("$.items[*].status", everyItem(is("CREATED"))))
+                .andExpect(jsonPath("$.items[*].index", contains(0, 1, 2, 3, 4)));
+
+        assertEquals(5, repository.count());
+    }
+
+    @Test
+    void onMalformedItemShouldKeepPrecedingItemsAndStopReading() throws Exception {
+        String payload = createPayload(1L) + "\n" + createPayload(2L) + "\n{\"externalId\": ]\n" + createPayload(3L);
+
+        mockMvc.perform(createDefaultRequest(MediaType.APPLICATION_NDJSON, payload))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[2].index", is(2)))
+                .andExpect(jsonPath("$.items[2].status", is("INVALID")))
+                .andExpect(jsonPath("$.items[2].errors[0].reason", is("MESSAGE_NOT_READABLE")));
+
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void onMalformedBodyShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(createDefaultRequest(MediaType.APPLICATION_JSON, "Tremortusk"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.id", is(startsWith(REQUEST_ID))))
+                .andExpect(jsonPath("$.message", is("MESSAGE_NOT_READABLE")));
+
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void onEmptyArrayShouldReturnEmptyResult() throws Exception {
+        mockMvc.perform(createDefaultRequest(MediaType.APPLICATION_JSON, "[]"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(0)))
+                .andExpect(jsonPath("$.failed", is(0)))
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    private static JSONObject createPayload(Long id) {
+        JSONObject payload = new JSONObject();
+
+        payload.put("externalId", "external-id-" + id);
+        payload.put("value", "some-value-" + id);
+        payload.put("comment", "some-comment-" + id);
+        payload.put("significance", 1);
+
+        return payload;
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(MediaType contentType, String content) {
+        return post(URI)
+                .contentType(contentType)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                .content(content);
+    }
+}
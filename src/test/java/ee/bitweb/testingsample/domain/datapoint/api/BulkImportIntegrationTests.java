@@ -0,0 +1,160 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.external.ExternalService;
+import ee.bitweb.testingsample.domain.datapoint.external.ExternalServiceApi;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "data-points.external.baseUrl=http://localhost:12347/",
+                "data-points.import.chunk-size=2"
+        }
+)
+class BulkImportIntegrationTests {
+
+    private static final String URI = "/data-points/import/bulk";
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @MockBean
+    private ExternalService externalService;
+
+    @Test
+    @Transactional
+    void onRequestShouldUpsertDataPointsInChunksAndReturnCounts() throws Exception {
+        repository.saveAndFlush(DataPointHelper.create(1L));
+        repository.saveAndFlush(DataPointHelper.create(4L));
+
+        DataPoint changed = DataPointHelper.create(1L);
+        changed.setValue("Something-new");
+
+        Mockito.doReturn(Stream.of(
+                toResponse(changed),
+                toResponse(DataPointHelper.create(2L)),
+                toResponse(DataPointHelper.create(3L)),
+                toResponse(DataPointHelper.create(4L))
+        )).when(externalService).stream();
+
+        mockMvc.perform(createDefaultRequest())
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(2)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.unchanged", is(1)))
+                .andExpect(jsonPath("$.duplicates", is(0)))
+                .andExpect(jsonPath("$.chunks", hasSize(2)))
+                .andExpect(jsonPath("$.chunks[0].index", is(0)))
+                .andExpect(jsonPath("$.chunks[0].size", is(2)))
+                .andExpect(jsonPath("$.chunks[0].inserted", is(1)))
+                .andExpect(jsonPath("$.chunks[0].updated", is(1)))
+                .andExpect(jsonPath("$.chunks[1].index", is(1)))
+                .andExpect(jsonPath("$.chunks[1].size", is(2)))
+                .andExpect(jsonPath("$.chunks[1].inserted", is(1)))
+                .andExpect(jsonPath("$.chunks[1].updated", is(0)))
+                .andExpect(jsonPath("$.chunks[1].unchanged", is(1)));
+
+        List<DataPoint> dataPoints = repository.findAll(DataPointSpecification.externalId("external-id-1"));
+
+        assertAll(
+                () -> assertEquals(4L, repository.count()),
+                () -> assertEquals(1, dataPoints.size())
+        );
+    }
+
+    @Test
+    @Transactional
+    void onCopyStrategyShouldMergeStagedDataPointsAndReturnCounts() throws Exception {
+        repository.saveAndFlush(DataPointHelper.create(1L));
+        repository.saveAndFlush(DataPointHelper.create(4L));
+
+        DataPoint changed = DataPointHelper.create(1L);
+        changed.setValue("Something-new");
+        DataPoint repeated = DataPointHelper.create(2L);
+        repeated.setValue("Something-\"quoted\", with comma");
+        repeated.setComment(null);
+
+        Mockito.doReturn(Stream.of(
+                toResponse(changed),
+                toResponse(DataPointHelper.create(2L)),
+                toResponse(DataPointHelper.create(3L)),
+                toResponse(DataPointHelper.create(4L)),
+                toResponse(repeated)
+        )).when(externalService).stream();
+
+        mockMvc.perform(createDefaultRequest().param("strategy", "COPY"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(2)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.unchanged", is(1)))
+                .andExpect(jsonPath("$.duplicates", is(1)))
+                .andExpect(jsonPath("$.chunks", hasSize(1)))
+                .andExpect(jsonPath("$.chunks[0].size", is(5)));
+
+        List<DataPoint> dataPoints = repository.findAll(DataPointSpecification.externalId("external-id-2"));
+
+        assertAll(
+                () -> assertEquals(4L, repository.count()),
+                () -> assertEquals(1, dataPoints.size()),
+                () -> assertEquals("Something-\"quoted\", with comma", dataPoints.get(0).getValue()),
+                () -> assertNull(dataPoints.get(0).getComment())
+        );
+    }
+
+    @Test
+    void onUnknownStrategyShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(createDefaultRequest().param("strategy", "SOMETHING"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest() {
+        return post(URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+
+    private ExternalServiceApi.DataPointResponse toResponse(DataPoint point) {
+        ExternalServiceApi.DataPointResponse response = new ExternalServiceApi.DataPointResponse();
+
+        response.setExternalId(point.getExternalId());
+        response.setValue(point.getValue());
+        response.setComment(point.getComment());
+        response.setSignificance(point.getSignificance());
+
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "data-points.cache.enabled=true"
+)
+class CachedGetIntegrationTests {
+
+    private static final String URI = "/data-points";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void afterEach() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void onRepeatedGetShouldServeCachedDataPointUntilItIsWrittenThroughApi() throws Exception {
+        DataPoint point = repository.save(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value", is("some-value-1")));
+
+        jdbcTemplate.update("UPDATE data_point SET value = 'changed-behind-cache' WHERE id = ?", point.getId());
+
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value", is("some-value-1")));
+        mockMvc.perform(createDefaultRequest(URI + "/external-id/external-id-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value", is("some-value-1")));
+
+        mockMvc.perform(
+                        put(URI + "/" + point.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                                .content("{\"externalId\":\"external-id-1\",\"value\":\"updated-value\","
+                                        + "\"comment\":\"some-comment-1\",\"significance\":1}")
+                )
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value", is("updated-value")));
+        mockMvc.perform(createDefaultRequest(URI + "/external-id/external-id-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value", is("updated-value")));
+    }
+
+    @Test
+    void onCacheLookupsShouldExposeHitAndMissMetrics() throws Exception {
+        DataPoint point = repository.save(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId())).andExpect(status().isOk());
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(
+                        createDefaultRequest("/actuator/metrics/cache.gets")
+                                .param("tag", "cache:data-points.by-id")
+                                .param("tag", "result:hit")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", greaterThanOrEqualTo(1.0)));
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(String uri) {
+        return get(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+}
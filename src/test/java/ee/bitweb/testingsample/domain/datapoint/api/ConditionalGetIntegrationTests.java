@@ -0,0 +1,125 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Transactional
+class ConditionalGetIntegrationTests {
+
+    private static final String URI = "/data-points";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Test
+    void onGetByIdShouldReturnVersionAsETag() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.externalId", is("external-id-1")));
+    }
+
+    @Test
+    void onCurrentETagShouldReturnNotModifiedWithoutBody() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(createDefaultRequest(URI + "/external-id/external-id-1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void onUpdatedDataPointShouldReturnNewVersion() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(
+                        put(URI + "/" + point.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                                .content("{\"externalId\":\"external-id-1\",\"value\":\"updated-value\","
+                                        + "\"comment\":\"some-comment-1\",\"significance\":1}")
+                )
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        mockMvc.perform(createDefaultRequest(URI + "/" + point.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.value", is("updated-value")));
+    }
+
+    @Test
+    void onUnknownIdWithIfNoneMatchShouldReturnNotFound() throws Exception {
+        mockMvc.perform(createDefaultRequest(URI + "/" + Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void onUnchangedTableShouldReturnNotModifiedList() throws Exception {
+        repository.saveAndFlush(DataPointHelper.create(1L));
+
+        String eTag = mockMvc.perform(createDefaultRequest(URI))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(createDefaultRequest(URI).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        repository.saveAndFlush(DataPointHelper.create(2L));
+
+        mockMvc.perform(createDefaultRequest(URI).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(String uri) {
+        return get(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+}
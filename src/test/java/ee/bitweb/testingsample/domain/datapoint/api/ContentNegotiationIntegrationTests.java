@@ -0,0 +1,189 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ContentNegotiationIntegrationTests {
+
+    private static final String URI = "/data-points";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Test
+    @Transactional
+    void onSmileAcceptedShouldReturnListAsSmile() throws Exception {
+        DataPoint point1 = repository.save(DataPointHelper.create(1L));
+        repository.save(DataPointHelper.create(2L));
+
+        MvcResult result = mockMvc.perform(get(URI).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                        .accept(SMILE))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+
+        assertAll(
+                () -> assertEquals(2, body.size()),
+                () -> assertEquals(point1.getId().longValue(), body.get(0).get("id").asLong()),
+                () -> assertEquals("external-id-1", body.get(0).get("externalId").asText()),
+                () -> assertEquals("some-value-1", body.get(0).get("value").asText()),
+                () -> assertEquals(1, body.get(0).get("significance").asInt())
+        );
+    }
+
+    @Test
+    @Transactional
+    void onCborAcceptedShouldReturnSingleDataPointAsCbor() throws Exception {
+        DataPoint point = repository.save(DataPointHelper.create(1L));
+
+        MvcResult result = mockMvc.perform(get(URI + "/" + point.getId())
+                        .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                        .accept(CBOR))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+
+        assertAll(
+                () -> assertEquals(point.getId().longValue(), body.get("id").asLong()),
+                () -> assertEquals("external-id-1", body.get("externalId").asText()),
+                () -> assertEquals("some-comment-1", body.get("comment").asText())
+        );
+    }
+
+    @Test
+    @Transactional
+    void onNoAcceptHeaderShouldStillReturnJson() throws Exception {
+        repository.save(DataPointHelper.create(1L));
+
+        mockMvc.perform(get(URI).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @Transactional
+    void onSmilePayloadShouldCreatePoint() throws Exception {
+        byte[] payload = new ObjectMapper(new SmileFactory()).writeValueAsBytes(
+                new ObjectMapper().readTree(createPayload(5L).toString())
+        );
+
+        mockMvc.perform(post(URI).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                        .contentType(SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.externalId", is("external-id-5")))
+                .andExpect(jsonPath("$.value", is("some-value-5")));
+
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @Transactional
+    void onGzipPayloadShouldCreatePoint() throws Exception {
+        mockMvc.perform(post(URI).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(gzip(createPayload(6L).toString())))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.externalId", is("external-id-6")));
+
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @Transactional
+    void onCorruptGzipPayloadShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post(URI).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createPayload(7L).toString()))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @Transactional
+    void onUnsupportedContentEncodingShouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post(URI).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                        .header(HttpHeaders.CONTENT_ENCODING, "br")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createPayload(8L).toString()))
+                .andDo(print())
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(header().string(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertEquals(0, repository.count());
+    }
+
+    private static JSONObject createPayload(Long id) {
+        JSONObject payload = new JSONObject();
+
+        payload.put("externalId", "external-id-" + id);
+        payload.put("value", "some-value-" + id);
+        payload.put("significance", 1);
+
+        return payload;
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,162 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ExportIntegrationTests {
+
+    private static final String URI = "/data-points/export";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    private static final String HEADER = "id,external_id,value,comment,significance";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @AfterEach
+    void afterEach() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void onExportShouldReturnAllDataPointsAsCsv() throws Exception {
+        DataPoint point1 = repository.save(DataPointHelper.create(1L));
+        DataPoint point2 = repository.save(DataPointHelper.create(2L));
+
+        List<String> lines = lines(export(createDefaultRequest(), "text/csv"));
+
+        assertEquals(
+                List.of(
+                        HEADER,
+                        point1.getId() + ",external-id-1,some-value-1,some-comment-1,1",
+                        point2.getId() + ",external-id-2,some-value-2,some-comment-2,0"
+                ),
+                lines
+        );
+    }
+
+    @Test
+    void onFilteredExportShouldReturnOnlyMatchingDataPoints() throws Exception {
+        repository.save(DataPointHelper.create(1L));
+        DataPoint point2 = repository.save(DataPointHelper.create(2L));
+        repository.save(DataPointHelper.create(3L));
+        DataPoint point12 = repository.save(DataPointHelper.create(12L));
+
+        List<String> lines = lines(export(
+                createDefaultRequest()
+                        .param("significanceTo", "0")
+                        .param("externalIdPrefix", "external-id-"),
+                "text/csv"
+        ));
+
+        assertEquals(
+                List.of(
+                        HEADER,
+                        point2.getId() + ",external-id-2,some-value-2,some-comment-2,0",
+                        point12.getId() + ",external-id-12,some-value-12,some-comment-12,0"
+                ),
+                lines
+        );
+    }
+
+    @Test
+    void onPrefixWithQuotesAndWildcardsShouldMatchItLiterally() throws Exception {
+        repository.save(DataPointHelper.create(1L));
+
+        List<String> lines = lines(export(
+                createDefaultRequest().param("valuePrefix", "%' OR ''='"),
+                "text/csv"
+        ));
+
+        assertEquals(List.of(HEADER), lines);
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void onGzipExportShouldReturnCompressedCsvFile() throws Exception {
+        DataPoint point = repository.save(DataPointHelper.create(1L));
+
+        MvcResult result = mockMvc.perform(createDefaultRequest().param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("data-points.csv.gz")))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(
+                    List.of(HEADER, point.getId() + ",external-id-1,some-value-1,some-comment-1,1"),
+                    lines(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+            );
+        }
+    }
+
+    private String export(MockHttpServletRequestBuilder request, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(contentType))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("data-points.csv")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    /**
+     * Rows are exported in no particular order, so everything after the header is sorted by id.
+     */
+    private static List<String> lines(String csv) {
+        List<String> lines = Arrays.asList(csv.split("\n"));
+
+        return Stream.concat(
+                lines.stream().limit(1),
+                lines.stream().skip(1).sorted((a, b) -> Long.compare(id(a), id(b)))
+        ).collect(Collectors.toList());
+    }
+
+    private static long id(String line) {
+        return Long.parseLong(line.substring(0, line.indexOf(',')));
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest() {
+        return get(URI).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+}
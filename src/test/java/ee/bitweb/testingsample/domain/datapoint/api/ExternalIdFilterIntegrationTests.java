@@ -0,0 +1,143 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import java.util.stream.Stream;
+
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.external.ExternalService;
+import ee.bitweb.testingsample.domain.datapoint.external.ExternalServiceApi;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "data-points.external-id-filter.enabled=true"
+)
+class ExternalIdFilterIntegrationTests {
+
+    private static final String URI = "/data-points";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Autowired
+    private ExternalIdFilter externalIdFilter;
+
+    @MockBean
+    private ExternalService externalService;
+
+    @AfterEach
+    void afterEach() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void onRebuiltFilterShouldFindExistingAndRuleOutUnknownExternalIds() throws Exception {
+        repository.save(DataPointHelper.create(1L));
+        externalIdFilter.rebuild();
+
+        mockMvc.perform(createDefaultRequest("external-id-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.externalId", is("external-id-1")));
+
+        mockMvc.perform(createDefaultRequest("external-id-unknown"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Entity DataPoint not found")))
+                .andExpect(jsonPath("$.entity", is("DataPoint")));
+
+        mockMvc.perform(
+                        get("/actuator/metrics/data-points.external-id-filter.checks")
+                                .param("tag", "result:negative")
+                                .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", greaterThanOrEqualTo(1.0)));
+    }
+
+    @Test
+    void onDataPointCreatedAfterRebuildShouldFindIt() throws Exception {
+        externalIdFilter.rebuild();
+
+        mockMvc.perform(
+                        post(URI)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                                .content("{\"externalId\":\"external-id-new\",\"value\":\"some-value\","
+                                        + "\"comment\":\"some-comment\",\"significance\":1}")
+                )
+                .andExpect(status().isOk());
+
+        mockMvc.perform(createDefaultRequest("external-id-new"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.externalId", is("external-id-new")));
+    }
+
+    /**
+     * The data point is saved without going through this instance's write path, as another instance would, so the
+     * filter does not know it. The import still has to find and update it.
+     */
+    @Test
+    void onDataPointWrittenElsewhereShouldBeUpdatedByImport() throws Exception {
+        externalIdFilter.rebuild();
+        repository.save(DataPointHelper.create(1L));
+
+        DataPoint changed = DataPointHelper.create(1L);
+        changed.setValue("Something-new");
+        Mockito.doAnswer(invocation -> Stream.of(toResponse(changed))).when(externalService).stream();
+
+        mockMvc.perform(
+                        post(URI + "/import")
+                                .param("response", "summary")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(0)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.failed", is(0)));
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(String externalId) {
+        return get(URI + "/external-id/" + externalId)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+
+    private ExternalServiceApi.DataPointResponse toResponse(DataPoint point) {
+        ExternalServiceApi.DataPointResponse response = new ExternalServiceApi.DataPointResponse();
+
+        response.setExternalId(point.getExternalId());
+        response.setValue(point.getValue());
+        response.setComment(point.getComment());
+        response.setSignificance(point.getSignificance());
+
+        return response;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.test.web.servlet.*;
 import org.springframework.test.web.servlet.request.*;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -73,6 +74,183 @@ class GetListIntegrationTests {
     }
 
 
+    @Test
+    @Transactional
+    void onLimitedRequestShouldReturnPageWithCursorToNextPage() throws Exception {
+        DataPoint point1 = repository.save(DataPointHelper.create(1L));
+        DataPoint point2 = repository.save(DataPointHelper.create(2L));
+        DataPoint point3 = repository.save(DataPointHelper.create(3L));
+
+        mockMvc.perform(createDefaultRequest().param("limit", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", point2.getId().toString()))
+                .andExpect(header().string("Link", allOf(
+                        containsString("after=" + point2.getId()),
+                        containsString("limit=2"),
+                        endsWith("; rel=\"next\"")
+                )))
+                .andExpect(header().doesNotExist("X-Total-Count-Estimate"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(point1.getId().intValue())))
+                .andExpect(jsonPath("$[1].id", is(point2.getId().intValue())));
+
+        mockMvc.perform(createDefaultRequest().param("limit", "2").param("after", point2.getId().toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(point3.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void onFilteredRequestShouldReturnOnlyMatchingDataPoints() throws Exception {
+        DataPoint point1 = repository.save(DataPointHelper.create(1L));
+        repository.save(DataPointHelper.create(2L));
+        DataPoint point3 = repository.save(DataPointHelper.create(3L));
+        DataPoint point10 = repository.save(DataPointHelper.create(10L));
+
+        mockMvc.perform(createDefaultRequest().param("significanceFrom", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(point1.getId().intValue(), point3.getId().intValue())));
+
+        mockMvc.perform(createDefaultRequest().param("valuePrefix", "some-value-1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(point1.getId().intValue(), point10.getId().intValue())));
+
+        mockMvc.perform(createDefaultRequest()
+                        .param("externalIdPrefix", "external-id-1")
+                        .param("significanceTo", "0"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(point10.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void onPrefixWithWildcardsShouldMatchThemLiterally() throws Exception {
+        DataPoint literal = DataPointHelper.create(1L);
+        literal.setExternalId("external_%-1");
+        literal = repository.save(literal);
+        repository.save(DataPointHelper.create(2L));
+
+        mockMvc.perform(createDefaultRequest().param("externalIdPrefix", "external_%"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(literal.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void onFilteredPagesShouldCarryFilterToNextPage() throws Exception {
+        repository.save(DataPointHelper.create(1L));
+        DataPoint point3 = repository.save(DataPointHelper.create(3L));
+        DataPoint point5 = repository.save(DataPointHelper.create(5L));
+
+        mockMvc.perform(createDefaultRequest().param("significanceFrom", "1").param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("Link", containsString("significanceFrom=1")));
+
+        mockMvc.perform(createDefaultRequest()
+                        .param("significanceFrom", "1")
+                        .param("limit", "2")
+                        .param("after", point3.getId().toString()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(point5.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void onEstimateRequestedShouldReturnCountEstimates() throws Exception {
+        mockMvc.perform(createDefaultRequest().param("estimate", "true"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count-Estimate"))
+                .andExpect(header().exists("X-Page-Count-Estimate"));
+    }
+
+    @Test
+    void onLimitAboveMaximumShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(createDefaultRequest().param("limit", "1001"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.id", is(startsWith(REQUEST_ID))))
+                .andExpect(jsonPath("$.message", is("CONSTRAINT_VIOLATION")))
+                .andExpect(jsonPath("$.errors[0]", is(hasEntry("field", "limit"))))
+                .andExpect(jsonPath("$.errors[0]", is(hasEntry("reason", "Max"))));
+    }
+
+    @Test
+    void onStreamedArrayRequestShouldReturnAllDataPointsAsJsonArray() throws Exception {
+        DataPoint point1 = repository.save(DataPointHelper.create(1L));
+        DataPoint point2 = repository.save(DataPointHelper.create(2L));
+
+        try {
+            MvcResult result = mockMvc.perform(createDefaultRequest().param("stream", "array"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/json"))
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0]", aMapWithSize(5)))
+                    .andExpect(jsonPath("$[0].id", is(point1.getId().intValue())))
+                    .andExpect(jsonPath("$[0].externalId", is("external-id-1")))
+                    .andExpect(jsonPath("$[1].id", is(point2.getId().intValue())))
+                    .andExpect(jsonPath("$[1].comment", is("some-comment-2")));
+        } finally {
+            repository.deleteAll();
+        }
+    }
+
+    @Test
+    void onStreamedNdjsonRequestShouldReturnOneDataPointPerLine() throws Exception {
+        DataPoint point1 = repository.save(DataPointHelper.create(1L));
+        DataPoint point2 = repository.save(DataPointHelper.create(2L));
+
+        try {
+            MvcResult result = mockMvc.perform(
+                            get(URI)
+                                    .param("stream", "ndjson")
+                                    .accept(MediaType.APPLICATION_NDJSON)
+                                    .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                    )
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            String[] lines = body.split("\n");
+
+            assertEquals(2, lines.length);
+            assertThat(lines[0], allOf(
+                    containsString("\"id\":" + point1.getId()),
+                    containsString("\"externalId\":\"external-id-1\"")
+            ));
+            assertThat(lines[1], allOf(
+                    containsString("\"id\":" + point2.getId()),
+                    containsString("\"externalId\":\"external-id-2\"")
+            ));
+        } finally {
+            repository.deleteAll();
+        }
+    }
+
     private MockHttpServletRequestBuilder createDefaultRequest() {
         return get(URI)
                 .contentType(MediaType.APPLICATION_JSON)
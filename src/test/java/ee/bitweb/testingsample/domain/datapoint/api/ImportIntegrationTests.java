@@ -1,6 +1,6 @@
 package ee.bitweb.testingsample.domain.datapoint.api;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
 import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
@@ -15,11 +15,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.*;
 import org.springframework.boot.test.context.*;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.*;
 import org.springframework.test.web.servlet.request.*;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -52,11 +56,11 @@ class ImportIntegrationTests {
 
         repository.save(dataPoint);
 
-        Mockito.doReturn(List.of(
+        Mockito.doReturn(Stream.of(
                 toResponse(newDataPoint)
-        )).when(externalService).getAll();
+        )).when(externalService).stream();
 
-        mockMvc.perform(createDefaultRequest())
+        mockMvc.perform(createDefaultRequest().param("response", "list"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
@@ -68,6 +72,74 @@ class ImportIntegrationTests {
                 .andExpect(jsonPath("$[0].significance", is(1)));
     }
 
+    @Test
+    @Transactional
+    void onSummaryRequestShouldReturnCountsOnly() throws Exception {
+        repository.save(DataPointHelper.create(1L));
+        repository.save(DataPointHelper.create(3L));
+
+        DataPoint changed = DataPointHelper.create(1L);
+        changed.setValue("Something-new");
+
+        Mockito.doReturn(Stream.of(
+                toResponse(changed),
+                toResponse(DataPointHelper.create(2L)),
+                toResponse(DataPointHelper.create(3L))
+        )).when(externalService).stream();
+
+        mockMvc.perform(createDefaultRequest().param("response", "summary"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", aMapWithSize(5)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.unchanged", is(1)))
+                .andExpect(jsonPath("$.failed", is(0)))
+                .andExpect(jsonPath("$.durationMillis", is(greaterThanOrEqualTo(0))));
+
+        Mockito.verify(externalService, Mockito.never()).getAll();
+    }
+
+    /**
+     * Not transactional, the streamed import runs on an async request thread and commits its chunks.
+     */
+    @Test
+    void onStreamRequestShouldWriteRowOutcomesAsNdjson() throws Exception {
+        Mockito.doReturn(Stream.of(
+                toResponse(DataPointHelper.create(1L)),
+                toResponse(DataPointHelper.create(2L))
+        )).when(externalService).stream();
+
+        try {
+            MvcResult result = mockMvc.perform(
+                            post(URI)
+                                    .param("response", "stream")
+                                    .accept(MediaType.APPLICATION_NDJSON)
+                                    .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                    )
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            String[] lines = body.split("\n");
+
+            assertAll(
+                    () -> assertEquals(2, lines.length),
+                    () -> assertTrue(lines[0].contains("\"externalId\":\"external-id-1\"")),
+                    () -> assertTrue(lines[0].contains("\"status\":\"CREATED\"")),
+                    () -> assertTrue(lines[1].contains("\"externalId\":\"external-id-2\"")),
+                    () -> assertEquals(2L, repository.count())
+            );
+        } finally {
+            repository.deleteAll();
+        }
+    }
+
     private MockHttpServletRequestBuilder createDefaultRequest() {
         return post(URI)
                 .contentType(MediaType.APPLICATION_JSON)
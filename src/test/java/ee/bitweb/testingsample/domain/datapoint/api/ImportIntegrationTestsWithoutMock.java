@@ -76,7 +76,7 @@ public class ImportIntegrationTestsWithoutMock {
                 ).toString()
         );
 
-        mockMvc.perform(createDefaultRequest())
+        mockMvc.perform(createDefaultRequest().param("response", "list"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(3)))
@@ -125,9 +125,56 @@ public class ImportIntegrationTestsWithoutMock {
         );
     }
 
+    @Test
+    @Transactional
+    void onBulkRequestShouldStreamDataPointsFromExternalServiceAndUpsert() throws Exception {
+        repository.saveAndFlush(DataPointHelper.create(1L));
+        MockServerHelper.setupGetMockRouteWithString(
+                externalService,
+                "/data-points",
+                200,
+                1,
+                createExternalServiceResponse(
+                        List.of(
+                                createExternalServiceResponse(1L),
+                                createExternalServiceResponse(2L),
+                                createExternalServiceResponse(3L)
+                        )
+                ).toString()
+        );
+
+        mockMvc.perform(createDefaultRequest(URI + "/bulk"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(2)))
+                .andExpect(jsonPath("$.updated", is(1)));
+
+        assertEquals(3L, repository.count());
+    }
+
+    @Test
+    void onBulkRequestAndMalformedExternalResponseShouldReturnInternalServerError() throws Exception {
+        MockServerHelper.setupGetMockRouteWithString(
+                externalService,
+                "/data-points",
+                200,
+                1,
+                "[{\"externalId\": \"external-id-1\", \"value\": "
+        );
+
+        mockMvc.perform(createDefaultRequest(URI + "/bulk"))
+                .andDo(print())
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", is("INTERNAL_SERVER_ERROR")));
+    }
+
 
     private MockHttpServletRequestBuilder createDefaultRequest() {
-        return post(URI)
+        return createDefaultRequest(URI);
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(String uri) {
+        return post(uri)
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
                 .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
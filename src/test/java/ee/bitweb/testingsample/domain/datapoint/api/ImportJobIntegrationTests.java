@@ -0,0 +1,151 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.external.ExternalService;
+import ee.bitweb.testingsample.domain.datapoint.external.ExternalServiceApi;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"data-points.external.baseUrl=http://localhost:12347/"}
+)
+class ImportJobIntegrationTests {
+
+    private static final String URI = "/data-points/import";
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @MockBean
+    private ExternalService externalService;
+
+    @AfterEach
+    void afterEach() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void onImportRequestShouldReturnJobAndCompleteInBackground() throws Exception {
+        Mockito.doAnswer(invocation -> Stream.of(
+                toResponse(DataPointHelper.create(1L)),
+                toResponse(DataPointHelper.create(2L))
+        )).when(externalService).stream();
+
+        String jobId = submit(createDefaultRequest(URI));
+
+        mockMvc.perform(get(URI + "/" + jobId).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(jobId)))
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.strategy", nullValue()))
+                .andExpect(jsonPath("$.processed", is(2)))
+                .andExpect(jsonPath("$.inserted", is(2)))
+                .andExpect(jsonPath("$.failed", is(0)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        assertEquals(2L, repository.count());
+        Mockito.verify(externalService, Mockito.never()).getAll();
+    }
+
+    @Test
+    void onAsyncBulkRequestShouldReturnJobAndCompleteInBackground() throws Exception {
+        Mockito.doAnswer(invocation -> Stream.empty()).when(externalService).stream();
+
+        String jobId = submit(createDefaultRequest(URI + "/bulk").header("Prefer", "respond-async"));
+
+        mockMvc.perform(get(URI + "/" + jobId).header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(jobId)))
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.strategy", is("UPSERT")))
+                .andExpect(jsonPath("$.processed", is(0)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+    }
+
+    @Test
+    void onUnknownJobIdShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get(URI + "/unknown").header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.entity", is("ImportJob")))
+                .andExpect(jsonPath("$.criteria[0]", is(hasEntry("field", "id"))))
+                .andExpect(jsonPath("$.criteria[0]", is(hasEntry("value", "unknown"))));
+    }
+
+    /**
+     * Submits the job and waits for it to complete.
+     */
+    private String submit(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString(URI + "/")))
+                .andExpect(jsonPath("$.id", notNullValue()))
+                .andExpect(jsonPath("$.status", is(oneOf("QUEUED", "RUNNING", "COMPLETED"))))
+                .andReturn();
+
+        String jobId = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            String status = JsonPath.read(
+                    mockMvc.perform(get(URI + "/" + jobId)).andReturn().getResponse().getContentAsString(),
+                    "$.status"
+            );
+
+            if ("COMPLETED".equals(status)) {
+                break;
+            }
+
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        return jobId;
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(String uri) {
+        return post(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+
+    private ExternalServiceApi.DataPointResponse toResponse(DataPoint point) {
+        ExternalServiceApi.DataPointResponse response = new ExternalServiceApi.DataPointResponse();
+
+        response.setExternalId(point.getExternalId());
+        response.setValue(point.getValue());
+        response.setComment(point.getComment());
+        response.setSignificance(point.getSignificance());
+
+        return response;
+    }
+}
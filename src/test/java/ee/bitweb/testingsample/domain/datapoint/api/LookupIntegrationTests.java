@@ -0,0 +1,92 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LookupIntegrationTests {
+
+    private static final String URI = "/data-points/lookup";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Test
+    @Transactional
+    void onIdsAndExternalIdsShouldReturnEveryRequestedIdentifier() throws Exception {
+        DataPoint point1 = repository.save(DataPointHelper.create(1L));
+        DataPoint point2 = repository.save(DataPointHelper.create(2L));
+        long missingId = point2.getId() + 1000;
+
+        mockMvc.perform(createDefaultRequest(
+                        "{\"ids\":[" + point1.getId() + "," + missingId + "],"
+                                + "\"externalIds\":[\"external-id-2\",\"external-id-unknown\"]}"
+                ))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.ids", aMapWithSize(2)))
+                .andExpect(jsonPath("$.ids['" + point1.getId() + "'].status", is("FOUND")))
+                .andExpect(jsonPath("$.ids['" + point1.getId() + "'].dataPoint.externalId", is("external-id-1")))
+                .andExpect(jsonPath("$.ids['" + missingId + "'].status", is("NOT_FOUND")))
+                .andExpect(jsonPath("$.ids['" + missingId + "'].dataPoint", nullValue()))
+                .andExpect(jsonPath("$.externalIds", aMapWithSize(2)))
+                .andExpect(jsonPath("$.externalIds['external-id-2'].status", is("FOUND")))
+                .andExpect(jsonPath("$.externalIds['external-id-2'].dataPoint.id", is(point2.getId().intValue())))
+                .andExpect(jsonPath("$.externalIds['external-id-unknown'].status", is("NOT_FOUND")));
+    }
+
+    @Test
+    @Transactional
+    void onEmptyRequestShouldReturnEmptyResult() throws Exception {
+        mockMvc.perform(createDefaultRequest("{}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids", aMapWithSize(0)))
+                .andExpect(jsonPath("$.externalIds", aMapWithSize(0)));
+    }
+
+    @Test
+    void onTooManyIdentifiersShouldReturnBadRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        mockMvc.perform(createDefaultRequest("{\"ids\":[" + ids + "]}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("INVALID_ARGUMENT")))
+                .andExpect(jsonPath("$.errors[*].field", hasItem("ids")));
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(String content) {
+        return post(URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                .content(content);
+    }
+}
@@ -0,0 +1,179 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointContentHash;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PatchIntegrationTests {
+
+    private static final String URI = "/data-points";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @AfterEach
+    void afterEach() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void onPartialPayloadShouldChangeOnlyGivenFields() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"value\":\"patched-value\"}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.id", is(point.getId().intValue())))
+                .andExpect(jsonPath("$.externalId", is("external-id-1")))
+                .andExpect(jsonPath("$.value", is("patched-value")))
+                .andExpect(jsonPath("$.comment", is("some-comment-1")))
+                .andExpect(jsonPath("$.significance", is(1)));
+
+        DataPoint patched = repository.findById(point.getId()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals("patched-value", patched.getValue()),
+                () -> assertEquals("some-comment-1", patched.getComment()),
+                () -> assertEquals(1L, patched.getVersion()),
+                () -> assertEquals(DataPointContentHash.of(patched), patched.getContentHash())
+        );
+    }
+
+    @Test
+    void onNonAsciiValueShouldWriteSameContentHashAsApplication() throws Exception {
+        DataPoint point = DataPointHelper.create(1L);
+        point.setComment(null);
+        point = repository.saveAndFlush(point);
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"value\":\"p\u00e4ev \ud83d\ude00\"}"))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        DataPoint patched = repository.findById(point.getId()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals("p\u00e4ev \ud83d\ude00", patched.getValue()),
+                () -> assertEquals(DataPointContentHash.of(patched), patched.getContentHash())
+        );
+    }
+
+    @Test
+    void onMatchingIfMatchShouldUpdate() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"significance\":5}")
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\", \"7\", \"0\""))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.significance", is(5)));
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"comment\":\"patched-comment\"}")
+                        .header(HttpHeaders.IF_MATCH, "*"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.comment", is("patched-comment")));
+    }
+
+    @Test
+    void onStaleIfMatchShouldReturnPreconditionFailedAndNotUpdate() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"value\":\"patched-value\"}")
+                        .header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$", aMapWithSize(4)))
+                .andExpect(jsonPath("$.id", is(startsWith(REQUEST_ID))))
+                .andExpect(jsonPath("$.message", is("Cannot update data point as its version does not match")))
+                .andExpect(jsonPath("$.entity", is("DataPoint")))
+                .andExpect(jsonPath("$.criteria[0].field", is("version")))
+                .andExpect(jsonPath("$.criteria[0].value", is("0")));
+
+        DataPoint unchanged = repository.findById(point.getId()).orElseThrow();
+
+        assertAll(
+                () -> assertEquals("some-value-1", unchanged.getValue()),
+                () -> assertEquals(0L, unchanged.getVersion())
+        );
+    }
+
+    @Test
+    void onWeakIfMatchShouldReturnPreconditionFailed() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"value\":\"patched-value\"}")
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\""))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void onUnknownIdShouldReturnNotFound() throws Exception {
+        mockMvc.perform(createDefaultRequest(Long.MAX_VALUE, "{\"value\":\"patched-value\"}")
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Entity DataPoint not found")));
+    }
+
+    @Test
+    void onBlankValueShouldReturnBadRequest() throws Exception {
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(1L));
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"value\":\"  \"}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        assertEquals("some-value-1", repository.findById(point.getId()).orElseThrow().getValue());
+    }
+
+    @Test
+    void onExistingExternalIdShouldReturnConflict() throws Exception {
+        repository.saveAndFlush(DataPointHelper.create(1L));
+        DataPoint point = repository.saveAndFlush(DataPointHelper.create(2L));
+
+        mockMvc.perform(createDefaultRequest(point.getId(), "{\"externalId\":\"external-id-1\"}"))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is("Cannot persist data point as external id already exists")))
+                .andExpect(jsonPath("$.criteria[0].field", is("externalId")))
+                .andExpect(jsonPath("$.criteria[0].value", is("external-id-1")));
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest(Long id, String content) {
+        return patch(URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID)
+                .content(content);
+    }
+}
@@ -0,0 +1,141 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SearchIntegrationTests {
+
+    private static final String URI = "/data-points/search";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Test
+    @Transactional
+    void onMatchingCommentsShouldReturnBestMatchFirst() throws Exception {
+        DataPoint weak = createWithComment(1L, "alpha beta");
+        DataPoint strong = createWithComment(2L, "alpha alpha alpha");
+        createWithComment(3L, "gamma delta");
+
+        mockMvc.perform(createDefaultRequest().param("q", "alpha"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].dataPoint.id", is(strong.getId().intValue())))
+                .andExpect(jsonPath("$.items[0].dataPoint.comment", is("alpha alpha alpha")))
+                .andExpect(jsonPath("$.items[1].dataPoint.id", is(weak.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @Transactional
+    void onMoreHitsThanLimitShouldPageWithCursor() throws Exception {
+        DataPoint point1 = createWithComment(1L, "paged result");
+        DataPoint point2 = createWithComment(2L, "paged result");
+        DataPoint point3 = createWithComment(3L, "paged result");
+
+        MvcResult first = mockMvc.perform(createDefaultRequest().param("q", "paged").param("limit", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].dataPoint.id", contains(
+                        point1.getId().intValue(),
+                        point2.getId().intValue()
+                )))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn();
+
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(createDefaultRequest().param("q", "paged").param("limit", "2").param("cursor", cursor))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].dataPoint.id", contains(point3.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @Transactional
+    void onUpdatedCommentShouldSearchNewComment() throws Exception {
+        DataPoint point = createWithComment(1L, "before update");
+        point.setComment("after update");
+        repository.saveAndFlush(point);
+
+        mockMvc.perform(createDefaultRequest().param("q", "before"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+
+        mockMvc.perform(createDefaultRequest().param("q", "after"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].dataPoint.id", contains(point.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void onQueryWithoutMatchesShouldReturnEmptyResult() throws Exception {
+        createWithComment(1L, "some comment");
+
+        mockMvc.perform(createDefaultRequest().param("q", "missing"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void onInvalidCursorShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(createDefaultRequest().param("q", "some").param("cursor", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("INVALID_ARGUMENT")))
+                .andExpect(jsonPath("$.errors[0].field", is("cursor")))
+                .andExpect(jsonPath("$.errors[0].reason", is("InvalidCursor")));
+    }
+
+    @Test
+    void onMissingQueryShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(createDefaultRequest())
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field", is("q")));
+    }
+
+    private DataPoint createWithComment(Long id, String comment) {
+        DataPoint point = DataPointHelper.create(id);
+        point.setComment(comment);
+
+        return repository.saveAndFlush(point);
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest() {
+        return get(URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+}
@@ -0,0 +1,239 @@
+package ee.bitweb.testingsample.domain.datapoint.api;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import ee.bitweb.testingsample.common.trace.TraceIdCustomizerImpl;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.common.SignificanceSummary;
+import ee.bitweb.testingsample.domain.datapoint.common.ValueSummary;
+import ee.bitweb.testingsample.domain.datapoint.features.FoldDataPointSummaryFeature;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.*;
+import org.springframework.boot.test.context.*;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.request.*;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Every test starts from an empty table within its own transaction, the summary deltas follow data_point through the
+ * triggers and everything is rolled back afterwards. Scheduled folds run in transactions of their own and cannot see
+ * the deltas of a test, folds within a test are made explicitly.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Transactional
+class StatisticsIntegrationTests {
+
+    private static final String URI = "/data-points/statistics";
+
+    private static final String REQUEST_ID = "ThisIsARequestId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FoldDataPointSummaryFeature foldDataPointSummaryFeature;
+
+    @BeforeEach
+    void beforeEach() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void onDataPointsShouldReturnCountsAndWeightedShares() throws Exception {
+        repository.saveAllAndFlush(List.of(
+                create(1L, "value-a", 2),
+                create(2L, "value-a", 1),
+                create(3L, "value-b", 1),
+                create(4L, "value-c", 0)
+        ));
+
+        mockMvc.perform(createDefaultRequest())
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.totalCount", is(4)))
+                .andExpect(jsonPath("$.weightedTotal", is(4)))
+                .andExpect(jsonPath("$.significanceLevels[*].significance", contains(0, 1, 2)))
+                .andExpect(jsonPath("$.significanceLevels[*].count", contains(1, 2, 1)))
+                .andExpect(jsonPath("$.significanceLevels[*].weightedTotal", contains(0, 2, 2)))
+                .andExpect(jsonPath("$.values[*].value", contains("value-a", "value-b", "value-c")))
+                .andExpect(jsonPath("$.values[0].count", is(2)))
+                .andExpect(jsonPath("$.values[0].weightedTotal", is(3)))
+                .andExpect(jsonPath("$.values[0].weightedShare", closeTo(0.75, 0.0001)))
+                .andExpect(jsonPath("$.values[2].weightedShare", closeTo(0.0, 0.0001)));
+    }
+
+    @Test
+    void onValuesLimitShouldReturnOnlyLargestValues() throws Exception {
+        repository.saveAllAndFlush(List.of(create(1L, "value-a", 2), create(2L, "value-b", 1)));
+
+        mockMvc.perform(createDefaultRequest().param("values", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount", is(2)))
+                .andExpect(jsonPath("$.values[*].value", contains("value-a")));
+    }
+
+    @Test
+    void onEmptyTableShouldReturnZeroes() throws Exception {
+        mockMvc.perform(createDefaultRequest())
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount", is(0)))
+                .andExpect(jsonPath("$.weightedTotal", is(0)))
+                .andExpect(jsonPath("$.significanceLevels", hasSize(0)))
+                .andExpect(jsonPath("$.values", hasSize(0)));
+    }
+
+    @Test
+    void onEveryKindOfWriteShouldKeepSummaryEqualToTable() {
+        DataPoint updated = repository.saveAndFlush(create(1L, "value-a", 1));
+        DataPoint deleted = repository.saveAndFlush(create(2L, "value-b", 2));
+        repository.saveAndFlush(create(3L, "value-b", 0));
+
+        updated.setValue("value-c");
+        updated.setSignificance(2);
+        repository.saveAndFlush(updated);
+        repository.delete(deleted);
+        repository.flush();
+
+        repository.upsert(List.of(create(3L, "value-a", 2), create(4L, "value-d", 1)));
+        repository.copyAndMerge(List.of(create(4L, "value-d", 2), create(5L, "value-a", 1)).iterator());
+
+        String tableBySignificance = "SELECT significance::text AS key, count(*) AS total FROM data_point "
+                + "GROUP BY significance";
+        String tableByValue = "SELECT value || ':' || sum(significance) AS key, count(*) AS total FROM data_point "
+                + "GROUP BY value";
+
+        assertAll(
+                () -> assertEquals(
+                        query(tableBySignificance),
+                        readSignificanceSummary()
+                ),
+                () -> assertEquals(
+                        query(tableByValue),
+                        readValueSummary()
+                )
+        );
+
+        assertTrue(foldDataPointSummaryFeature.fold() > 0);
+
+        assertAll(
+                () -> assertEquals(
+                        query(tableBySignificance),
+                        query("SELECT significance::text AS key, point_count AS total "
+                                + "FROM data_point_significance_summary")
+                ),
+                () -> assertEquals(
+                        query(tableByValue),
+                        query("SELECT value || ':' || weighted_total AS key, point_count AS total "
+                                + "FROM data_point_value_summary")
+                ),
+                () -> assertEquals(0L, jdbcTemplate.queryForObject(
+                        "SELECT (SELECT count(*) FROM data_point_significance_summary_delta) "
+                                + "+ (SELECT count(*) FROM data_point_value_summary_delta)",
+                        Long.class
+                )),
+                () -> assertEquals(query(tableBySignificance), readSignificanceSummary()),
+                () -> assertEquals(query(tableByValue), readValueSummary())
+        );
+    }
+
+    @Test
+    void onDeltasPendingAfterFoldShouldReturnMergedValues() throws Exception {
+        repository.saveAllAndFlush(List.of(
+                create(1L, "value-a", 1),
+                create(2L, "value-b", 2),
+                create(3L, "value-c", 1)
+        ));
+        foldDataPointSummaryFeature.fold();
+
+        DataPoint added = repository.saveAndFlush(create(4L, "value-c", 2));
+        repository.deleteAllInBatch(repository.findAll(DataPointSpecification.externalId("external-id-2")));
+
+        mockMvc.perform(createDefaultRequest().param("values", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount", is(3)))
+                .andExpect(jsonPath("$.weightedTotal", is(4)))
+                .andExpect(jsonPath("$.significanceLevels[*].significance", contains(1, 2)))
+                .andExpect(jsonPath("$.significanceLevels[*].count", contains(2, 1)))
+                .andExpect(jsonPath("$.values[*].value", contains(added.getValue())))
+                .andExpect(jsonPath("$.values[0].count", is(2)))
+                .andExpect(jsonPath("$.values[0].weightedTotal", is(3)));
+    }
+
+    @Test
+    void onNegativeValuesLimitShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(createDefaultRequest().param("values", "-1"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private Map<String, Long> readSignificanceSummary() {
+        return repository.findSignificanceSummary()
+                .stream()
+                .collect(Collectors.toMap(
+                        level -> String.valueOf(level.getSignificance()),
+                        SignificanceSummary::getCount
+                ));
+    }
+
+    private Map<String, Long> readValueSummary() {
+        return repository.findValueSummary(Integer.MAX_VALUE / 2)
+                .stream()
+                .collect(Collectors.toMap(
+                        value -> value.getValue() + ":" + value.getWeightedTotal(),
+                        ValueSummary::getCount
+                ));
+    }
+
+    private Map<String, Long> query(String sql) {
+        return jdbcTemplate.query(sql, rs -> {
+            Map<String, Long> rows = new HashMap<>();
+            while (rs.next()) {
+                rows.put(rs.getString("key"), rs.getLong("total"));
+            }
+
+            return rows;
+        });
+    }
+
+    private static DataPoint create(Long id, String value, int significance) {
+        DataPoint point = DataPointHelper.create(id);
+        point.setValue(value);
+        point.setSignificance(significance);
+
+        return point;
+    }
+
+    private MockHttpServletRequestBuilder createDefaultRequest() {
+        return get(URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(TraceIdCustomizerImpl.DEFAULT_HEADER_NAME, REQUEST_ID);
+    }
+}
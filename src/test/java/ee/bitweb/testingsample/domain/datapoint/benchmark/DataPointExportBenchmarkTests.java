@@ -0,0 +1,135 @@
+package ee.bitweb.testingsample.domain.datapoint.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointMapper;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointResponse;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointFilter;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.StreamAllDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.export.ExportDataPointsFeature;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports a million data points with COPY TO STDOUT, plain and gzipped, and compares it with streaming them as entities
+ * written out as NDJSON. Output goes to a stream that only counts bytes, so what is measured is the database read and
+ * the formatting. Rows per minute and bytes allocated by the exporting thread are logged. Run with "./gradlew
+ * benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class DataPointExportBenchmarkTests {
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Autowired
+    private ExportDataPointsFeature exportDataPointsFeature;
+
+    @Autowired
+    private StreamAllDataPointsFeature streamAllDataPointsFeature;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        clean();
+        jdbcTemplate.update(
+                "INSERT INTO data_point (external_id, value, comment, significance) "
+                        + "SELECT 'export-' || i, 'some-value-' || i, 'some comment, \"quoted\" ' || i, i % 3 "
+                        + "FROM generate_series(1, ?) i",
+                ROWS
+        );
+        jdbcTemplate.execute("ANALYZE data_point");
+    }
+
+    @AfterEach
+    void clean() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void copyOutVersusEntityStream() throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(DataPointResponse.class);
+
+        for (int round = 0; round < 2; round++) {
+            measure("copy csv", out -> exportDataPointsFeature.export(DataPointFilter.NONE, false, out));
+            measure("copy csv gzip", out -> exportDataPointsFeature.export(DataPointFilter.NONE, true, out));
+            measure("entity ndjson", out -> streamAllDataPointsFeature.stream(point -> {
+                try {
+                    out.write(writer.writeValueAsBytes(DataPointMapper.toResponse(point)));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+
+    private void measure(String name, Export export) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        CountingOutputStream out = new CountingOutputStream();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        long rows = export.run(out);
+
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertEquals(ROWS, rows);
+        log.info(
+                "{}: {} rows in {} ms, {} rows/min, {} bytes written, {} bytes allocated per row",
+                name,
+                rows,
+                nanos / 1_000_000,
+                rows * 60_000_000_000L / nanos,
+                out.count,
+                allocated / rows
+        );
+    }
+
+    private interface Export {
+
+        long run(OutputStream out) throws IOException;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+    }
+}
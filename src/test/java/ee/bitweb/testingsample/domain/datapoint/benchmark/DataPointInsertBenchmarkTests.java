@@ -0,0 +1,199 @@
+package ee.bitweb.testingsample.domain.datapoint.benchmark;
+
+import java.util.function.Supplier;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares inserting rows with ids from an IDENTITY column, where Hibernate has to run every insert on its own to read
+ * the generated key back, with ids from a pooled sequence, which lets the inserts go out as JDBC batches. Both sides
+ * persist the same chunks through the same persistence context into twin tables that only differ in how their ids are
+ * generated, data_point itself is not used as its triggers would only be paid by one side. Run with
+ * "./gradlew benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class DataPointInsertBenchmarkTests {
+
+    private static final int WARMUP_ROWS = 1000;
+    private static final int ROWS = 10000;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void createTables() {
+        dropTables();
+
+        jdbcTemplate.execute("CREATE TABLE benchmark_identity_point ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "external_id VARCHAR(255) NOT NULL UNIQUE, value VARCHAR(255) NOT NULL, comment TEXT, "
+                + "significance INTEGER NOT NULL)");
+        jdbcTemplate.execute("CREATE SEQUENCE benchmark_sequence_point_id_seq INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE benchmark_sequence_point ("
+                + "id BIGINT PRIMARY KEY, "
+                + "external_id VARCHAR(255) NOT NULL UNIQUE, value VARCHAR(255) NOT NULL, comment TEXT, "
+                + "significance INTEGER NOT NULL)");
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS benchmark_identity_point");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS benchmark_sequence_point");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS benchmark_sequence_point_id_seq");
+    }
+
+    @Test
+    void identityVersusSequenceIds() {
+        insert("warmup-", WARMUP_ROWS, IdentityBenchmarkPoint::new);
+        insert("warmup-", WARMUP_ROWS, SequenceBenchmarkPoint::new);
+        jdbcTemplate.execute("TRUNCATE benchmark_identity_point, benchmark_sequence_point");
+
+        long identityNanos = measure(() -> insert("row-", ROWS, IdentityBenchmarkPoint::new));
+        long sequenceNanos = measure(() -> insert("row-", ROWS, SequenceBenchmarkPoint::new));
+
+        log.info(
+                "Inserted {} rows in chunks of {}: IDENTITY ids {} rows/s, pooled SEQUENCE ids {} rows/s",
+                ROWS,
+                CHUNK_SIZE,
+                rowsPerSecond(identityNanos),
+                rowsPerSecond(sequenceNanos)
+        );
+
+        assertEquals(ROWS, count("benchmark_identity_point"));
+        assertEquals(ROWS, count("benchmark_sequence_point"));
+    }
+
+    private void insert(String prefix, int rows, Supplier<BenchmarkPoint> factory) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            int chunkFrom = from;
+
+            transaction.executeWithoutResult(status -> {
+                for (int i = chunkFrom; i < Math.min(chunkFrom + CHUNK_SIZE, rows); i++) {
+                    BenchmarkPoint point = factory.get();
+
+                    point.setExternalId(prefix + i);
+                    point.setValue("some-value-" + i);
+                    point.setComment("some-comment-" + i);
+                    point.setSignificance(i % 3);
+
+                    entityManager.persist(point);
+                }
+
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private static long measure(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+
+        return System.nanoTime() - start;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    private interface BenchmarkPoint {
+
+        void setExternalId(String externalId);
+
+        void setValue(String value);
+
+        void setComment(String comment);
+
+        void setSignificance(Integer significance);
+    }
+
+    @Entity
+    @Table(name = "benchmark_identity_point")
+    @Setter
+    @Getter
+    static class IdentityBenchmarkPoint implements BenchmarkPoint {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(nullable = false)
+        private String externalId;
+
+        @Column(nullable = false)
+        private String value;
+
+        @Column
+        private String comment;
+
+        @Column(nullable = false)
+        private Integer significance;
+    }
+
+    /**
+     * Mapped like DataPoint, allocation size matches the increment of the sequence.
+     */
+    @Entity
+    @Table(name = "benchmark_sequence_point")
+    @Setter
+    @Getter
+    static class SequenceBenchmarkPoint implements BenchmarkPoint {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_sequence_point_id")
+        @SequenceGenerator(
+                name = "benchmark_sequence_point_id",
+                sequenceName = "benchmark_sequence_point_id_seq",
+                allocationSize = 50
+        )
+        private Long id;
+
+        @Column(nullable = false)
+        private String externalId;
+
+        @Column(nullable = false)
+        private String value;
+
+        @Column
+        private String comment;
+
+        @Column(nullable = false)
+        private Integer significance;
+    }
+}
@@ -0,0 +1,164 @@
+package ee.bitweb.testingsample.domain.datapoint.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.IntFunction;
+import javax.persistence.EntityManager;
+
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointMapper;
+import ee.bitweb.testingsample.domain.datapoint.api.model.DataPointResponse;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares reading data points as managed entities, loaded in a read-write transaction with a dirty checking snapshot
+ * and then copied into responses, with reading them as projections in a read-only transaction. Both the list page and
+ * the single lookup are measured for latency and for bytes allocated by the reading thread. Run with
+ * "./gradlew benchmark".
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "data-points.cache.enabled=false"})
+class DataPointReadBenchmarkTests {
+
+    private static final int ROWS = 10000;
+    private static final int PAGE_SIZE = 100;
+    private static final int PAGE_READS = 500;
+    private static final int LOOKUPS = 5000;
+
+    private static final String ENTITY_PAGE_QUERY = "SELECT d FROM DataPoint d WHERE d.id > :after ORDER BY d.id";
+
+    @Autowired
+    private DataPointRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long[] ids;
+
+    @BeforeEach
+    void beforeEach() {
+        clean();
+        jdbcTemplate.update(
+                "INSERT INTO data_point (external_id, value, comment, significance) "
+                        + "SELECT 'read-' || i, 'some-value-' || i, 'some-comment-' || i, i % 3 "
+                        + "FROM generate_series(1, ?) i",
+                ROWS
+        );
+        jdbcTemplate.execute("ANALYZE data_point");
+        ids = jdbcTemplate
+                .queryForList("SELECT id FROM data_point ORDER BY id", Long.class)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @AfterEach
+    void clean() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void entityVersusProjectionListPage() {
+        IntFunction<List<DataPointResponse>> entities = i -> new TransactionTemplate(transactionManager).execute(
+                status -> DataPointMapper.toResponse(entityManager
+                        .createQuery(ENTITY_PAGE_QUERY, DataPoint.class)
+                        .setParameter("after", after(i))
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList())
+        );
+        IntFunction<List<DataPointResponse>> projections = i -> DataPointMapper.toResponse(
+                repository.findViewsOrderedById(DataPointSpecification.idGreaterThan(after(i)), PAGE_SIZE)
+        );
+
+        assertEquals(entities.apply(0).size(), projections.apply(0).size());
+
+        compare("list page", PAGE_READS, entities, projections);
+    }
+
+    @Test
+    void entityVersusProjectionSingleLookup() {
+        IntFunction<DataPointResponse> entities = i -> new TransactionTemplate(transactionManager).execute(
+                status -> DataPointMapper.toResponse(
+                        repository.findOne(DataPointSpecification.id(id(i))).orElseThrow()
+                )
+        );
+        IntFunction<DataPointResponse> projections = i -> DataPointMapper.toResponse(
+                repository.findView(DataPointSpecification.id(id(i))).orElseThrow()
+        );
+
+        assertEquals(entities.apply(0).getId(), projections.apply(0).getId());
+
+        compare("single lookup", LOOKUPS, entities, projections);
+    }
+
+    private void compare(String name, int iterations, IntFunction<?> entities, IntFunction<?> projections) {
+        run(entities, iterations);
+        run(projections, iterations);
+
+        Measurement entity = run(entities, iterations);
+        Measurement projection = run(projections, iterations);
+
+        log.info(
+                "{} x {}: entity {} us/op {} bytes/op, projection {} us/op {} bytes/op",
+                name,
+                iterations,
+                entity.nanos / iterations / 1000,
+                entity.allocatedBytes / iterations,
+                projection.nanos / iterations / 1000,
+                projection.allocatedBytes / iterations
+        );
+    }
+
+    private long after(int i) {
+        return ids[i * PAGE_SIZE % (ids.length - PAGE_SIZE)];
+    }
+
+    private long id(int i) {
+        return ids[i % ids.length];
+    }
+
+    private static Measurement run(IntFunction<?> read, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            read.apply(i);
+        }
+
+        return new Measurement(System.nanoTime() - start, threads.getThreadAllocatedBytes(threadId) - allocatedBefore);
+    }
+
+    private static class Measurement {
+
+        private final long nanos;
+        private final long allocatedBytes;
+
+        private Measurement(long nanos, long allocatedBytes) {
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ee.bitweb.testingsample.domain.datapoint.common;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Checks with EXPLAIN that the list filters, in the shape the keyset pagination queries them, are served by the filter
+ * indexes. The table is filled and analyzed within the test transaction, so the planner works with realistic
+ * statistics and everything is rolled back afterwards.
+ */
+@SpringBootTest
+@Transactional
+class DataPointFilterPlanIntegrationTests {
+
+    private static final int ROWS = 20000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        jdbcTemplate.update(
+                "INSERT INTO data_point (external_id, value, comment, significance) "
+                        + "SELECT 'plan-ext-' || i, 'plan-value-' || i, NULL, i % 100 FROM generate_series(1, ?) i",
+                ROWS
+        );
+        jdbcTemplate.execute("ANALYZE data_point");
+    }
+
+    @Test
+    void onValuePrefixShouldUseValuePatternIndex() {
+        assertThat(
+                explain("SELECT * FROM data_point WHERE value LIKE 'plan-value-1234%' AND id > 0 ORDER BY id LIMIT 101"),
+                containsString("data_point_value_pattern_idx")
+        );
+    }
+
+    @Test
+    void onExternalIdPrefixShouldUseExternalIdPatternIndex() {
+        assertThat(
+                explain("SELECT * FROM data_point WHERE external_id LIKE 'plan-ext-1234%' AND id > 0 "
+                        + "ORDER BY id LIMIT 101"),
+                containsString("data_point_external_id_pattern_idx")
+        );
+    }
+
+    @Test
+    void onSignificanceShouldUseSignificanceIndex() {
+        assertThat(
+                explain("SELECT * FROM data_point WHERE significance BETWEEN 42 AND 42 AND id > 0 "
+                        + "ORDER BY id LIMIT 101"),
+                containsString("data_point_significance_id_idx")
+        );
+    }
+
+    @Test
+    void onUnfilteredPageShouldUsePrimaryKeyWithoutSort() {
+        String plan = explain("SELECT * FROM data_point WHERE id > 10000 ORDER BY id LIMIT 101");
+
+        assertThat(plan, containsString("data_point_pkey"));
+        assertThat(plan, not(containsString("Sort")));
+    }
+
+    @Test
+    void onCommentSearchShouldUseCommentSearchIndex() {
+        jdbcTemplate.update("UPDATE data_point SET comment = 'plan needle' WHERE external_id = 'plan-ext-1234'");
+        jdbcTemplate.execute("ANALYZE data_point");
+
+        assertThat(
+                explain("SELECT id FROM data_point WHERE comment_search @@ websearch_to_tsquery('simple', 'needle')"),
+                containsString("data_point_comment_search_idx")
+        );
+    }
+
+    private String explain(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,144 @@
+package ee.bitweb.testingsample.domain.datapoint.external;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import ee.bitweb.testingsample.common.retrofit.RetrofitException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetchingPageIteratorUnitTests {
+
+    private ExecutorService executorService;
+    private ConcurrentTaskExecutor executor;
+
+    @BeforeEach
+    void beforeEach() {
+        executorService = Executors.newSingleThreadExecutor();
+        executor = new ConcurrentTaskExecutor(executorService);
+    }
+
+    @AfterEach
+    void afterEach() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void onMultiplePagesShouldIterateAllDataPointsInOrderFollowingCursors() {
+        List<String> cursors = new CopyOnWriteArrayList<>();
+        List<String> externalIds = new ArrayList<>();
+
+        try (PrefetchingPageIterator iterator = new PrefetchingPageIterator(
+                recordingFetcher(cursors, 3, 2),
+                2,
+                executor
+        )) {
+            iterator.forEachRemaining(point -> externalIds.add(point.getExternalId()));
+        }
+
+        assertAll(
+                () -> assertEquals(List.of("start", "2", "4"), cursors),
+                () -> assertEquals(
+                        List.of(
+                                "external-id-1", "external-id-2", "external-id-3",
+                                "external-id-4", "external-id-5", "external-id-6"
+                        ),
+                        externalIds
+                )
+        );
+    }
+
+    @Test
+    void onSlowConsumerShouldNotFetchMorePagesThanAllowedInFlight() throws Exception {
+        List<String> cursors = new CopyOnWriteArrayList<>();
+
+        try (PrefetchingPageIterator ignored = new PrefetchingPageIterator(
+                recordingFetcher(cursors, 10, 1),
+                2,
+                executor
+        )) {
+            TimeUnit.MILLISECONDS.sleep(200);
+
+            // two pages waiting in the queue and one blocked on hand over
+            assertEquals(3, cursors.size());
+        }
+    }
+
+    @Test
+    void onFetchFailureShouldRethrowToConsumer() {
+        RetrofitException failure = new RetrofitException("REQUEST_ERROR");
+
+        try (PrefetchingPageIterator iterator = new PrefetchingPageIterator(
+                cursor -> {
+                    throw failure;
+                },
+                2,
+                executor
+        )) {
+            assertSame(failure, assertThrows(RetrofitException.class, iterator::hasNext));
+        }
+    }
+
+    @Test
+    void onErrorWhileFetchingShouldRethrowToConsumer() {
+        StackOverflowError failure = new StackOverflowError();
+
+        try (PrefetchingPageIterator iterator = new PrefetchingPageIterator(
+                cursor -> {
+                    throw failure;
+                },
+                2,
+                executor
+        )) {
+            assertSame(failure, assertThrows(StackOverflowError.class, iterator::hasNext));
+        }
+    }
+
+    @Test
+    void onCloseShouldStopFetching() throws Exception {
+        List<String> cursors = new CopyOnWriteArrayList<>();
+
+        PrefetchingPageIterator iterator = new PrefetchingPageIterator(recordingFetcher(cursors, 100, 1), 1, executor);
+        iterator.next();
+        iterator.close();
+
+        executorService.shutdown();
+
+        assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(cursors.size() < 100);
+    }
+
+    private Function<String, ExternalServiceApi.DataPointPageResponse> recordingFetcher(
+            List<String> cursors,
+            int pageCount,
+            int pageSize
+    ) {
+        return cursor -> {
+            cursors.add(cursor == null ? "start" : cursor);
+
+            long offset = cursor == null ? 0 : Long.parseLong(cursor);
+            List<ExternalServiceApi.DataPointResponse> items = new ArrayList<>();
+
+            for (long id = offset + 1; id <= Math.min(offset + pageSize, (long) pageCount * pageSize); id++) {
+                ExternalServiceApi.DataPointResponse item = new ExternalServiceApi.DataPointResponse();
+                item.setExternalId("external-id-" + id);
+                items.add(item);
+            }
+
+            ExternalServiceApi.DataPointPageResponse page = new ExternalServiceApi.DataPointPageResponse();
+            page.setItems(items);
+            page.setNextCursor(cursors.size() < pageCount ? String.valueOf(offset + pageSize) : null);
+
+            return page;
+        };
+    }
+}
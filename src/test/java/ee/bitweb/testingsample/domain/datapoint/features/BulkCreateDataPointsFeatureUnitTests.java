@@ -0,0 +1,162 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import ee.bitweb.testingsample.common.exception.validation.FieldError;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateItem;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateItemResult;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.create.BulkCreateStatus;
+import ee.bitweb.testingsample.domain.datapoint.features.create.CreateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCreateDataPointsFeatureUnitTests {
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Mock
+    private ExternalIdFilter externalIdFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BulkCreateProperties properties = new BulkCreateProperties();
+
+    @InjectMocks
+    private BulkCreateDataPointsFeature bulkCreateDataPointsFeature;
+
+    @Captor
+    private ArgumentCaptor<List<DataPoint>> batchCaptor;
+
+    @BeforeEach
+    void beforeEach() {
+        properties.setBatchSize(2);
+    }
+
+    @Test
+    void onValidItemsShouldWriteThemInBatchesAndKeepItemOrder() {
+        when(repository.insertAbsent(anyList())).thenAnswer(invocation -> ids(invocation.getArgument(0)));
+
+        List<BulkCreateItemResult> results = bulkCreateDataPointsFeature.create(List.of(
+                valid(0, 1L),
+                BulkCreateItem.invalid(1, Set.of(new FieldError("value", "NotBlank", "must not be blank"))),
+                valid(2, 2L),
+                valid(3, 3L)
+        ).iterator());
+
+        verify(repository, times(2)).insertAbsent(batchCaptor.capture());
+        verify(externalIdFilter, times(3)).add(anyString());
+
+        assertAll(
+                () -> assertEquals(2, batchCaptor.getAllValues().get(0).size()),
+                () -> assertEquals(1, batchCaptor.getAllValues().get(1).size()),
+                () -> assertEquals(List.of(0, 1, 2, 3), indexes(results)),
+                () -> assertEquals(
+                        List.of(
+                                BulkCreateStatus.CREATED,
+                                BulkCreateStatus.INVALID,
+                                BulkCreateStatus.CREATED,
+                                BulkCreateStatus.CREATED
+                        ),
+                        statuses(results)
+                ),
+                () -> assertEquals(1L, results.get(0).getId()),
+                () -> assertEquals("value", results.get(1).getErrors().iterator().next().getField())
+        );
+    }
+
+    @Test
+    void onExistingOrRepeatedExternalIdShouldReportConflict() {
+        when(repository.insertAbsent(anyList())).thenReturn(Map.of("external-id-1", 11L));
+
+        List<BulkCreateItemResult> results = bulkCreateDataPointsFeature.create(List.of(
+                valid(0, 1L),
+                valid(1, 1L)
+        ).iterator());
+
+        assertAll(
+                () -> assertEquals(List.of(BulkCreateStatus.CREATED, BulkCreateStatus.CONFLICT), statuses(results)),
+                () -> assertEquals(11L, results.get(0).getId()),
+                () -> assertNull(results.get(1).getId()),
+                () -> assertEquals("externalId", results.get(1).getErrors().iterator().next().getField())
+        );
+    }
+
+    @Test
+    void onFailingBatchShouldWriteItemsOneByOne() {
+        when(repository.insertAbsent(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenAnswer(invocation -> ids(invocation.getArgument(0)));
+
+        List<BulkCreateItemResult> results = bulkCreateDataPointsFeature.create(List.of(
+                valid(0, 1L),
+                valid(1, 2L)
+        ).iterator());
+
+        verify(repository, times(3)).insertAbsent(anyList());
+
+        assertAll(
+                () -> assertEquals(List.of(BulkCreateStatus.FAILED, BulkCreateStatus.CREATED), statuses(results)),
+                () -> assertEquals(
+                        BulkCreateDataPointsFeature.FAILED_REASON,
+                        results.get(0).getErrors().iterator().next().getReason()
+                ),
+                () -> assertEquals(2L, results.get(1).getId())
+        );
+    }
+
+    @Test
+    void onNoItemsShouldNotWrite() {
+        List<BulkCreateItemResult> results = bulkCreateDataPointsFeature.create(List.<BulkCreateItem>of().iterator());
+
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    private static BulkCreateItem valid(int index, Long id) {
+        return BulkCreateItem.valid(
+                index,
+                new CreateDataPointModel("external-id-" + id, "some-value-" + id, null, 1)
+        );
+    }
+
+    private static Map<String, Long> ids(List<DataPoint> points) {
+        return points.stream().collect(Collectors.toMap(
+                DataPoint::getExternalId,
+                point -> Long.valueOf(point.getExternalId().substring("external-id-".length()))
+        ));
+    }
+
+    private static List<Integer> indexes(List<BulkCreateItemResult> results) {
+        return results.stream().map(BulkCreateItemResult::getIndex).collect(Collectors.toList());
+    }
+
+    private static List<BulkCreateStatus> statuses(List<BulkCreateItemResult> results) {
+        return results.stream().map(BulkCreateItemResult::getStatus).collect(Collectors.toList());
+    }
+}
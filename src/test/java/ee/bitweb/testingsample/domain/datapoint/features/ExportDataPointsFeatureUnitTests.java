@@ -0,0 +1,83 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointFilter;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.export.ExportDataPointsFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportDataPointsFeatureUnitTests {
+
+    private static final String CSV = "id,external_id,value,comment,significance\n1,external-id-1,some-value-1,,1\n";
+
+    @Mock
+    private DataPointRepository repository;
+
+    @InjectMocks
+    private ExportDataPointsFeature exportDataPointsFeature;
+
+    @Test
+    void onPlainExportShouldWriteCsvAndLeaveOutputOpen() throws IOException {
+        DataPointFilter filter = new DataPointFilter(1, null, null, null);
+        ClosingAwareOutputStream output = new ClosingAwareOutputStream();
+        mockCopyOut(filter);
+
+        long exported = exportDataPointsFeature.export(filter, false, output);
+
+        assertAll(
+                () -> assertEquals(1, exported),
+                () -> assertEquals(CSV, output.toString(StandardCharsets.UTF_8)),
+                () -> assertFalse(output.closed)
+        );
+    }
+
+    @Test
+    void onGzipExportShouldWriteCompressedCsvAndLeaveOutputOpen() throws IOException {
+        ClosingAwareOutputStream output = new ClosingAwareOutputStream();
+        mockCopyOut(DataPointFilter.NONE);
+
+        long exported = exportDataPointsFeature.export(DataPointFilter.NONE, true, output);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(CSV, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(1, exported);
+        assertFalse(output.closed);
+    }
+
+    private void mockCopyOut(DataPointFilter filter) {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(CSV.getBytes(StandardCharsets.UTF_8));
+
+            return 1L;
+        }).when(repository).copyOutCsv(eq(filter), any(OutputStream.class));
+    }
+
+    private static class ClosingAwareOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ee.bitweb.testingsample.domain.datapoint.features;
 import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +15,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import java.util.List;
@@ -54,5 +58,47 @@ public class FindAllDataPointsFeatureUnitTests {
                 () -> assertEquals(0, dataPoints.get(1).getSignificance())
         );
     }
-}
 
+    @Test
+    void onFindingPageWithMoreDataPointsAfterItShouldReturnCursorOfLastItem() {
+        doReturn(List.of(withId(3L), withId(4L), withId(5L)))
+                .when(repository).findViewsOrderedById(any(), eq(3));
+
+        DataPointPage page = findAllDataPointsFeature.find(2L, 2);
+
+        verify(repository, times(1)).findViewsOrderedById(any(), eq(3));
+        assertAll(
+                () -> assertEquals(2, page.getItems().size()),
+                () -> assertEquals(3L, page.getItems().get(0).getId()),
+                () -> assertEquals(4L, page.getItems().get(1).getId()),
+                () -> assertTrue(page.hasNext()),
+                () -> assertEquals(4L, page.getNextCursor())
+        );
+    }
+
+    @Test
+    void onFindingLastPageShouldReturnNoCursor() {
+        doReturn(List.of(withId(1L), withId(2L)))
+                .when(repository).findViewsOrderedById(any(), eq(3));
+
+        DataPointPage page = findAllDataPointsFeature.find(null, 2);
+
+        verify(repository, times(1)).findViewsOrderedById(any(), eq(3));
+        assertAll(
+                () -> assertEquals(2, page.getItems().size()),
+                () -> assertFalse(page.hasNext()),
+                () -> assertNull(page.getNextCursor())
+        );
+    }
+
+    @Test
+    void onEstimatingCountShouldUseRepositoryEstimate() {
+        doReturn(1234L).when(repository).estimateCount();
+
+        assertEquals(1234L, findAllDataPointsFeature.estimateCount());
+    }
+
+    private static DataPointView withId(Long id) {
+        return DataPointHelper.createView(id);
+    }
+}
@@ -0,0 +1,57 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@RequiredArgsConstructor
+public class FindDataPointsByExternalIdsFeatureUnitTests {
+
+    @InjectMocks
+    private FindDataPointsByExternalIdsFeature findDataPointsByExternalIdsFeature;
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Test
+    void onExternalIdsShouldReturnExistingDataPointsByExternalId() {
+        DataPoint first = DataPointHelper.create(1L);
+        DataPoint second = DataPointHelper.create(2L);
+        doReturn(List.of(first, second)).when(repository).findAll(any(Specification.class));
+
+        Map<String, DataPoint> result = findDataPointsByExternalIdsFeature.find(
+                Set.of("external-id-1", "external-id-2", "external-id-3")
+        );
+
+        verify(repository, times(1)).findAll(any(Specification.class));
+        assertAll(
+                () -> assertEquals(2, result.size()),
+                () -> assertSame(first, result.get("external-id-1")),
+                () -> assertSame(second, result.get("external-id-2")),
+                () -> assertNull(result.get("external-id-3"))
+        );
+    }
+
+    @Test
+    void onNoExternalIdsShouldNotQuery() {
+        assertTrue(findDataPointsByExternalIdsFeature.find(Set.of()).isEmpty());
+
+        verifyNoInteractions(repository);
+    }
+}
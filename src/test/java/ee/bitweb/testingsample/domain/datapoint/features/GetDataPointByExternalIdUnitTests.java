@@ -2,21 +2,26 @@ package ee.bitweb.testingsample.domain.datapoint.features;
 
 import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
 import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
-import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCacheProperties;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @RequiredArgsConstructor
@@ -27,12 +32,19 @@ public class GetDataPointByExternalIdUnitTests {
     @Mock
     private DataPointRepository repository;
 
+    @Spy
+    private DataPointCache cache = new DataPointCache(new DataPointCacheProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private ExternalIdFilter externalIdFilter;
+
     @Test
     void onValidIdReturnDataPoint() throws Exception {
-        DataPoint point = DataPointHelper.create(1L);
+        DataPointView point = DataPointHelper.createView(1L);
 
-        doReturn(Optional.of(point)).when(repository).findOne(DataPointSpecification.id(any()));
-        DataPoint dataPoint = getDataPointByExternalIdFeature.get("external-id-1");
+        doReturn(true).when(externalIdFilter).mightExist("external-id-1");
+        doReturn(Optional.of(point)).when(repository).findView(DataPointSpecification.id(any()));
+        DataPointView dataPoint = getDataPointByExternalIdFeature.get("external-id-1");
 
         assertAll(
                 () -> assertEquals("external-id-1", dataPoint.getExternalId()),
@@ -44,8 +56,19 @@ public class GetDataPointByExternalIdUnitTests {
 
     @Test
     void onInvalidIdThrowsEntityNotFoundException() throws Exception {
+        doReturn(true).when(externalIdFilter).mightExist("external-id-1");
+
         assertThrows(EntityNotFoundException.class, () -> {
             getDataPointByExternalIdFeature.get("external-id-1");
         });
+        verify(externalIdFilter, times(1)).reportFalsePositive();
+    }
+
+    @Test
+    void onExternalIdRuledOutByFilterThrowsEntityNotFoundExceptionWithoutQuery() {
+        doReturn(false).when(externalIdFilter).mightExist("external-id-1");
+
+        assertThrows(EntityNotFoundException.class, () -> getDataPointByExternalIdFeature.get("external-id-1"));
+        verifyNoInteractions(repository);
     }
 }
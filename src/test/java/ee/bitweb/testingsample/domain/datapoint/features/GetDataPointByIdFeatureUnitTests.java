@@ -5,18 +5,24 @@ import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointSpecification;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @RequiredArgsConstructor
@@ -28,6 +34,9 @@ public class GetDataPointByIdFeatureUnitTests {
     @Mock
     private DataPointRepository repository;
 
+    @Spy
+    private DataPointCache cache = new DataPointCache(new DataPointCacheProperties(), new SimpleMeterRegistry());
+
     @Test
     void onValidIdReturnDataPoint() throws Exception {
         DataPoint point = DataPointHelper.create(1L);
@@ -43,6 +52,42 @@ public class GetDataPointByIdFeatureUnitTests {
         );
     }
 
+    @Test
+    void onValidIdReturnViewAndServeRepeatedReadFromCache() {
+        doReturn(Optional.of(DataPointHelper.createView(1L))).when(repository).findView(any());
+
+        DataPointView first = getDataPointByIdFeature.getView(1L);
+        DataPointView second = getDataPointByIdFeature.getView(1L);
+
+        verify(repository, times(1)).findView(any());
+        verify(repository, never()).findOne(any(Specification.class));
+        assertAll(
+                () -> assertSame(first, second),
+                () -> assertEquals("external-id-1", second.getExternalId()),
+                () -> assertEquals("some-value-1", second.getValue()),
+                () -> assertEquals("some-comment-1", second.getComment()),
+                () -> assertEquals(1, second.getSignificance())
+        );
+    }
+
+    @Test
+    void onInvalidIdForViewThrowsEntityNotFoundException() {
+        assertThrows(EntityNotFoundException.class, () -> getDataPointByIdFeature.getView(1L));
+    }
+
+    @Test
+    void onVersionShouldReadOnlyVersion() {
+        doReturn(Optional.of(3L)).when(repository).findVersion(any());
+
+        assertEquals(3L, getDataPointByIdFeature.getVersion(1L));
+        verify(repository, never()).findView(any());
+    }
+
+    @Test
+    void onInvalidIdForVersionThrowsEntityNotFoundException() {
+        assertThrows(EntityNotFoundException.class, () -> getDataPointByIdFeature.getVersion(1L));
+    }
+
     @Test
     void onInvalidIdThrowsEntityNotFoundException() throws Exception {
         DataPoint point = DataPointHelper.create(1L);
@@ -50,4 +95,18 @@ public class GetDataPointByIdFeatureUnitTests {
             getDataPointByIdFeature.get(1L);
         });
     }
+
+    @Test
+    void onMissShouldThrowExceptionWithoutStackTrace() {
+        EntityNotFoundException e = assertThrows(EntityNotFoundException.class, () -> getDataPointByIdFeature.get(1L));
+
+        assertAll(
+                () -> assertEquals(0, e.getStackTrace().length),
+                () -> assertEquals("Entity DataPoint not found", e.getMessage()),
+                () -> assertEquals("DataPoint", e.getEntity()),
+                () -> assertEquals(1, e.getCriteria().size()),
+                () -> assertEquals("id", e.getCriteria().iterator().next().getField()),
+                () -> assertEquals("1", e.getCriteria().iterator().next().getValue())
+        );
+    }
 }
@@ -0,0 +1,78 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.SignificanceSummary;
+import ee.bitweb.testingsample.domain.datapoint.common.ValueSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GetDataPointStatisticsFeatureUnitTests {
+
+    @InjectMocks
+    private GetDataPointStatisticsFeature getDataPointStatisticsFeature;
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void onSummaryShouldCalculateWeightedTotalsAndShares() {
+        doReturn(List.of(
+                new SignificanceSummary(0, 5),
+                new SignificanceSummary(1, 4),
+                new SignificanceSummary(2, 3)
+        )).when(repository).findSignificanceSummary();
+        doReturn(List.of(new ValueSummary("value-a", 3, 5))).when(repository).findValueSummary(1);
+
+        DataPointStatistics statistics = getDataPointStatisticsFeature.get(1);
+
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        assertAll(
+                () -> assertEquals(12, statistics.getTotalCount()),
+                () -> assertEquals(10, statistics.getWeightedTotal()),
+                () -> assertEquals(3, statistics.getSignificanceLevels().size()),
+                () -> assertEquals(6, statistics.getSignificanceLevels().get(2).getWeightedTotal()),
+                () -> assertEquals("value-a", statistics.getValues().get(0).getValue()),
+                () -> assertEquals(0.5, statistics.getValues().get(0).getWeightedShare())
+        );
+    }
+
+    @Test
+    void onOnlyInsignificantDataPointsShouldReturnZeroShare() {
+        doReturn(List.of(new SignificanceSummary(0, 2))).when(repository).findSignificanceSummary();
+        doReturn(List.of(new ValueSummary("value-a", 2, 0))).when(repository).findValueSummary(10);
+
+        DataPointStatistics statistics = getDataPointStatisticsFeature.get(10);
+
+        assertAll(
+                () -> assertEquals(2, statistics.getTotalCount()),
+                () -> assertEquals(0, statistics.getWeightedTotal()),
+                () -> assertEquals(0, statistics.getValues().get(0).getWeightedShare())
+        );
+    }
+
+    @Test
+    void onZeroValueLimitShouldNotReadValues() {
+        doReturn(List.of()).when(repository).findSignificanceSummary();
+
+        DataPointStatistics statistics = getDataPointStatisticsFeature.get(0);
+
+        verify(repository, never()).findValueSummary(anyInt());
+        assertTrue(statistics.getValues().isEmpty());
+    }
+}
@@ -1,14 +1,18 @@
 package ee.bitweb.testingsample.domain.datapoint.features;
 
-import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
 import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.external.ExternalService;
 import ee.bitweb.testingsample.domain.datapoint.external.ExternalServiceApi;
-import ee.bitweb.testingsample.domain.datapoint.features.create.CreateDataPointFeature;
-import ee.bitweb.testingsample.domain.datapoint.features.create.CreateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.copy.CopyDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
 import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointFeature;
 import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.PartitionedUpsertDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertListener;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,9 +20,18 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,14 +44,32 @@ public class ImportDataPointsFeatureUnitTests {
     private UpdateDataPointFeature updateDataPointFeature;
 
     @Mock
-    private CreateDataPointFeature createDataPointFeature;
+    private PersistDataPointFeature persistDataPointFeature;
 
     @Mock
-    private GetDataPointByExternalIdFeature getDataPointByExternalIdFeature;
+    private FindDataPointsByExternalIdsFeature findDataPointsByExternalIdsFeature;
 
     @Mock
     private ExternalService externalService;
 
+    @Mock
+    private PartitionedUpsertDataPointsFeature upsertDataPointsFeature;
+
+    @Mock
+    private CopyDataPointsFeature copyDataPointsFeature;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DataPointCache cache;
+
+    @Mock
+    private ExternalIdFilter externalIdFilter;
+
+    @Spy
+    private ImportProperties properties = new ImportProperties();
+
     @InjectMocks
     private ImportDataPointsFeature importDataPointsFeature;
 
@@ -49,64 +80,186 @@ public class ImportDataPointsFeatureUnitTests {
     private ArgumentCaptor<UpdateDataPointModel> updateDataPointModelArgumentCaptor;
 
     @Captor
-    private ArgumentCaptor<CreateDataPointModel> createDataPointModelArgumentCaptor;
+    private ArgumentCaptor<Collection<DataPoint>> dataPointsArgumentCaptor;
 
     @Test
-    void onExecuteShouldReturnListOfDataPoints() throws Exception {
+    void onExecuteShouldUpdateExistingDataPoint() throws Exception {
         ExternalServiceApi.DataPointResponse response = DefaultExternalServiceResponse();
         DataPoint dataPoint = DataPointHelper.create(1L);
 
-        doReturn(List.of(response)).when(externalService).getAll();
-        doReturn(dataPoint).when(getDataPointByExternalIdFeature).get(any());
+        doReturn(Stream.of(response)).when(externalService).stream();
+        doReturn(new HashMap<>(Map.of("external-id-3", dataPoint))).when(findDataPointsByExternalIdsFeature).find(any());
+        doReturn(true).when(updateDataPointFeature).apply(any(), any());
 
-        importDataPointsFeature.execute();
-        verify(externalService, times(1)).getAll();
+        List<DataPoint> result = importDataPointsFeature.execute();
+
+        verify(externalService, times(1)).stream();
         verify(updateDataPointFeature, times(1))
-                .update(
+                .apply(
                         dataPointArgumentCaptor.capture(),
                         updateDataPointModelArgumentCaptor.capture()
                 );
+        verify(persistDataPointFeature, times(1)).saveAll(dataPointsArgumentCaptor.capture());
 
-        // Captured dataPoint
         assertAll(
-                () -> assertEquals("external-id-1", dataPointArgumentCaptor.getValue().getExternalId()),
-                () -> assertEquals("some-value-1", dataPointArgumentCaptor.getValue().getValue()),
-                () -> assertEquals("some-comment-1", dataPointArgumentCaptor.getValue().getComment()),
-                () -> assertEquals(1, dataPointArgumentCaptor.getValue().getSignificance())
+                () -> assertSame(dataPoint, dataPointArgumentCaptor.getValue()),
+                () -> assertEquals(List.of(dataPoint), List.copyOf(dataPointsArgumentCaptor.getValue())),
+                () -> assertEquals(List.of(dataPoint), result)
         );
 
         // Captured updateDataPointModel
         assertAll(
-                ()-> assertNull(dataPointArgumentCaptor.getValue().getId()),
-                ()-> assertEquals("external-id-1", dataPointArgumentCaptor.getValue().getExternalId()),
-                ()-> assertEquals("some-value-1", dataPointArgumentCaptor.getValue().getValue()),
-                ()-> assertEquals("some-comment-1", dataPointArgumentCaptor.getValue().getComment()),
-                ()-> assertEquals(1, dataPointArgumentCaptor.getValue().getSignificance())
+                () -> assertEquals("external-id-3", updateDataPointModelArgumentCaptor.getValue().getExternalId()),
+                () -> assertEquals("some-value-3", updateDataPointModelArgumentCaptor.getValue().getValue()),
+                () -> assertEquals("some-comment-3", updateDataPointModelArgumentCaptor.getValue().getComment()),
+                () -> assertEquals(1, updateDataPointModelArgumentCaptor.getValue().getSignificance())
         );
     }
 
     @Test
-    void onInvalidIdThrowsEntityNotFoundException() throws Exception {
-        ExternalServiceApi.DataPointResponse response = DefaultExternalServiceResponse();
-        DataPoint dataPoint = DataPointHelper.create(1L);
+    void onUnknownExternalIdShouldCreateDataPoint() throws Exception {
+        doReturn(Stream.of(DefaultExternalServiceResponse())).when(externalService).stream();
+        doReturn(new HashMap<>()).when(findDataPointsByExternalIdsFeature).find(any());
+        doReturn(true).when(updateDataPointFeature).apply(any(), any());
+
+        importDataPointsFeature.execute();
+
+        verify(updateDataPointFeature, times(1)).apply(dataPointArgumentCaptor.capture(), any());
+        verify(persistDataPointFeature, times(1)).saveAll(dataPointsArgumentCaptor.capture());
+
+        assertAll(
+                () -> assertNull(dataPointArgumentCaptor.getValue().getId()),
+                () -> assertEquals(
+                        List.of(dataPointArgumentCaptor.getValue()),
+                        List.copyOf(dataPointsArgumentCaptor.getValue())
+                )
+        );
+    }
 
-        doReturn(List.of(response)).when(externalService).getAll();
-        doReturn(dataPoint).when(createDataPointFeature).create(any());
-        doThrow(EntityNotFoundException.class)
-                .when(getDataPointByExternalIdFeature)
-                .get(anyString());
+    @Test
+    void onUnchangedDataPointShouldNotPersistIt() throws Exception {
+        doReturn(Stream.of(DefaultExternalServiceResponse())).when(externalService).stream();
+        doReturn(new HashMap<>(Map.of("external-id-3", DataPointHelper.create(3L))))
+                .when(findDataPointsByExternalIdsFeature)
+                .find(any());
+        doReturn(false).when(updateDataPointFeature).apply(any(), any());
 
         importDataPointsFeature.execute();
 
-        verify(createDataPointFeature, times(1))
-                .create(createDataPointModelArgumentCaptor.capture());
+        verify(persistDataPointFeature, times(1)).saveAll(dataPointsArgumentCaptor.capture());
+        assertTrue(dataPointsArgumentCaptor.getValue().isEmpty());
+    }
+
+    @Test
+    void onExecuteShouldResolveAndPersistOncePerChunk() {
+        properties.setChunkSize(2);
+
+        doReturn(Stream.of(
+                DefaultExternalServiceResponse(),
+                DefaultExternalServiceResponse(),
+                DefaultExternalServiceResponse()
+        )).when(externalService).stream();
+        doAnswer(invocation -> new HashMap<>()).when(findDataPointsByExternalIdsFeature).find(any());
+        doReturn(true).when(updateDataPointFeature).apply(any(), any());
+
+        List<DataPoint> result = importDataPointsFeature.execute();
+
+        verify(findDataPointsByExternalIdsFeature, times(2)).find(any());
+        verify(persistDataPointFeature, times(2)).saveAll(dataPointsArgumentCaptor.capture());
+        verify(transactionManager, times(2)).commit(any());
 
         assertAll(
-                () -> assertEquals("external-id-3", createDataPointModelArgumentCaptor.getValue().getExternalId()),
-                () -> assertEquals("some-value-3", createDataPointModelArgumentCaptor.getValue().getValue()),
-                () -> assertEquals("some-comment-3", createDataPointModelArgumentCaptor.getValue().getComment()),
-                () -> assertEquals(1, createDataPointModelArgumentCaptor.getValue().getSignificance())
+                () -> assertEquals(3, result.size()),
+                () -> assertSame(result.get(0), result.get(1)),
+                () -> assertEquals(1, dataPointsArgumentCaptor.getAllValues().get(0).size()),
+                () -> assertEquals(1, dataPointsArgumentCaptor.getAllValues().get(1).size())
+        );
+    }
+
+    @Test
+    void onExecuteWithListenerShouldReportRowsAndContinueAfterFailedChunk() {
+        properties.setChunkSize(1);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        ExternalServiceApi.DataPointResponse failing = DefaultExternalServiceResponse();
+        failing.setExternalId("external-id-4");
+        DataPoint existing = DataPointHelper.create(3L);
+        List<ImportedRow> rows = new ArrayList<>();
+
+        doReturn(Stream.of(DefaultExternalServiceResponse(), failing).onClose(() -> closed.set(true)))
+                .when(externalService)
+                .stream();
+        doReturn(new HashMap<>(Map.of("external-id-3", existing)), new HashMap<>())
+                .when(findDataPointsByExternalIdsFeature)
+                .find(any());
+        doReturn(false, true).when(updateDataPointFeature).apply(any(), any());
+        doReturn(List.of())
+                .doThrow(new ConflictException("Conflict", "DataPoint", "externalId", "external-id-4"))
+                .when(persistDataPointFeature)
+                .saveAll(any());
+
+        ImportSummary summary = importDataPointsFeature.execute(rows::add);
+
+        verify(externalService, never()).getAll();
+        verify(transactionManager, times(1)).rollback(any());
+        assertAll(
+                () -> assertTrue(closed.get()),
+                () -> assertEquals(0, summary.getCreated()),
+                () -> assertEquals(0, summary.getUpdated()),
+                () -> assertEquals(1, summary.getUnchanged()),
+                () -> assertEquals(1, summary.getFailed()),
+                () -> assertEquals(2, rows.size()),
+                () -> assertSame(existing, rows.get(0).getPoint()),
+                () -> assertEquals(ImportRowStatus.UNCHANGED, rows.get(0).getStatus()),
+                () -> assertEquals("external-id-4", rows.get(1).getExternalId()),
+                () -> assertNull(rows.get(1).getPoint()),
+                () -> assertEquals(ImportRowStatus.FAILED, rows.get(1).getStatus())
+        );
+    }
+
+    @Test
+    void onExecuteBulkShouldUpsertStreamedDataPointsAndCloseStream() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        UpsertResult result = new UpsertResult(List.of());
+
+        doReturn(Stream.of(DefaultExternalServiceResponse()).onClose(() -> closed.set(true)))
+                .when(externalService)
+                .stream();
+        doAnswer(invocation -> {
+            Iterator<UpdateDataPointModel> models = invocation.getArgument(0);
+            UpdateDataPointModel model = models.next();
+
+            assertAll(
+                    () -> assertEquals("external-id-3", model.getExternalId()),
+                    () -> assertEquals("some-value-3", model.getValue()),
+                    () -> assertEquals("some-comment-3", model.getComment()),
+                    () -> assertEquals(1, model.getSignificance()),
+                    () -> assertFalse(models.hasNext())
+            );
+
+            return result;
+        }).when(upsertDataPointsFeature).upsert(any(), any());
+
+        assertSame(result, importDataPointsFeature.executeBulk());
+        assertTrue(closed.get());
+        verify(externalService, never()).getAll();
+        verify(cache, times(1)).evictAll();
+        verify(externalIdFilter, times(1)).add("external-id-3");
+        verifyNoInteractions(copyDataPointsFeature);
+    }
+
+    @Test
+    void onExecuteBulkWithCopyStrategyShouldLoadThroughCopy() {
+        UpsertResult result = new UpsertResult(List.of());
+
+        doReturn(Stream.of(DefaultExternalServiceResponse())).when(externalService).stream();
+        doReturn(result).when(copyDataPointsFeature).load(any(), any());
+
+        assertSame(
+                result,
+                importDataPointsFeature.executeBulk(ImportProperties.Strategy.COPY, UpsertListener.NONE)
         );
+        verify(cache, times(1)).evictAll();
+        verifyNoInteractions(upsertDataPointsFeature);
     }
 
     private ExternalServiceApi.DataPointResponse DefaultExternalServiceResponse() {
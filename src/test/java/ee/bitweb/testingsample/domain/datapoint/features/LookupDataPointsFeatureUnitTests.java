@@ -0,0 +1,84 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LookupDataPointsFeatureUnitTests {
+
+    @InjectMocks
+    private LookupDataPointsFeature lookupDataPointsFeature;
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Mock
+    private ExternalIdFilter externalIdFilter;
+
+    @Test
+    void onIdsAndExternalIdsShouldQueryOnceAndKeyResultByRequestedIdentifiers() {
+        DataPoint first = withId(1L);
+        DataPoint second = withId(2L);
+        doReturn(true).when(externalIdFilter).mightExist(any());
+        doReturn(List.of(first, second)).when(repository).findAll(any(Specification.class));
+
+        DataPointLookup lookup = lookupDataPointsFeature.lookup(
+                List.of(3L, 1L),
+                List.of("external-id-2", "external-id-4")
+        );
+
+        verify(repository, times(1)).findAll(any(Specification.class));
+        assertAll(
+                () -> assertEquals(List.of(3L, 1L), List.copyOf(lookup.getById().keySet())),
+                () -> assertNull(lookup.getById().get(3L)),
+                () -> assertSame(first, lookup.getById().get(1L)),
+                () -> assertEquals(
+                        List.of("external-id-2", "external-id-4"),
+                        List.copyOf(lookup.getByExternalId().keySet())
+                ),
+                () -> assertSame(second, lookup.getByExternalId().get("external-id-2")),
+                () -> assertNull(lookup.getByExternalId().get("external-id-4"))
+        );
+    }
+
+    @Test
+    void onExternalIdsRuledOutByFilterShouldNotQuery() {
+        doReturn(false).when(externalIdFilter).mightExist(any());
+
+        DataPointLookup lookup = lookupDataPointsFeature.lookup(List.of(), List.of("external-id-1"));
+
+        verifyNoInteractions(repository);
+        assertTrue(lookup.getByExternalId().containsKey("external-id-1"));
+        assertNull(lookup.getByExternalId().get("external-id-1"));
+    }
+
+    @Test
+    void onNothingRequestedShouldNotQuery() {
+        DataPointLookup lookup = lookupDataPointsFeature.lookup(List.of(), List.of());
+
+        verifyNoInteractions(repository);
+        assertTrue(lookup.getById().isEmpty());
+        assertTrue(lookup.getByExternalId().isEmpty());
+    }
+
+    private static DataPoint withId(Long id) {
+        DataPoint point = DataPointHelper.create(id);
+        point.setId(id);
+
+        return point;
+    }
+}
@@ -0,0 +1,204 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
+import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.PartitionedUpsertDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertChunkResult;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertListener;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertPartitionResult;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static java.util.stream.Collectors.toList;
+
+@ExtendWith(MockitoExtension.class)
+public class PartitionedUpsertDataPointsFeatureUnitTests {
+
+    @Mock
+    private UpsertDataPointsFeature upsertDataPointsFeature;
+
+    private final ImportProperties properties = new ImportProperties();
+    private final List<Set<String>> partitions = new ArrayList<>();
+
+    private ExecutorService executorService;
+    private PartitionedUpsertDataPointsFeature partitionedUpsertDataPointsFeature;
+
+    @BeforeEach
+    void beforeEach() {
+        properties.setChunkSize(2);
+        properties.setWorkers(3);
+
+        executorService = Executors.newFixedThreadPool(properties.getWorkers());
+        partitionedUpsertDataPointsFeature = new PartitionedUpsertDataPointsFeature(
+                upsertDataPointsFeature,
+                properties,
+                new ConcurrentTaskExecutor(executorService)
+        );
+    }
+
+    @AfterEach
+    void afterEach() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void onSingleWorkerShouldUpsertOnCallingThread() {
+        properties.setWorkers(1);
+        Iterator<UpdateDataPointModel> models = createModels(3).iterator();
+        UpsertResult result = new UpsertResult(List.of());
+        doReturn(result).when(upsertDataPointsFeature).upsert(models, UpsertListener.NONE);
+
+        assertSame(result, partitionedUpsertDataPointsFeature.upsert(models, UpsertListener.NONE));
+    }
+
+    @Test
+    void onSeveralWorkersShouldWriteEveryDataPointInExactlyOnePartition() {
+        doAnswer(invocation -> drain(invocation.getArgument(0))).when(upsertDataPointsFeature).upsert(any(), any());
+
+        UpsertResult result = partitionedUpsertDataPointsFeature.upsert(createModels(20).iterator(), UpsertListener.NONE);
+
+        Set<String> written = new HashSet<>();
+        int total = 0;
+        for (Set<String> partition : partitions) {
+            written.addAll(partition);
+            total += partition.size();
+        }
+        int writtenTotal = total;
+
+        assertAll(
+                () -> assertEquals(3, partitions.size()),
+                () -> assertEquals(20, writtenTotal),
+                () -> assertEquals(20, written.size()),
+                () -> assertEquals(3, result.getPartitions().size()),
+                () -> assertEquals(20, result.getInserted()),
+                () -> assertEquals(
+                        20,
+                        result.getPartitions().stream().mapToInt(partition -> partition.getResult().getSize()).sum()
+                ),
+                () -> assertEquals(
+                        List.of(0, 1, 2),
+                        result.getPartitions().stream().map(UpsertPartitionResult::getIndex).collect(toList())
+                )
+        );
+    }
+
+    @Test
+    void onSameExternalIdShouldAlwaysUseSamePartition() {
+        List<UpdateDataPointModel> models = new ArrayList<>(createModels(10));
+        models.addAll(createModels(10));
+        List<List<String>> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Iterator<UpdateDataPointModel> partition = invocation.getArgument(0);
+            List<String> ids = new ArrayList<>();
+            partition.forEachRemaining(model -> ids.add(model.getExternalId()));
+
+            synchronized (received) {
+                received.add(ids);
+            }
+
+            return new UpsertResult(List.of());
+        }).when(upsertDataPointsFeature).upsert(any(), any());
+
+        partitionedUpsertDataPointsFeature.upsert(models.iterator(), UpsertListener.NONE);
+
+        for (List<String> ids : received) {
+            for (String id : new HashSet<>(ids)) {
+                assertEquals(2, ids.stream().filter(id::equals).count());
+            }
+        }
+    }
+
+    @Test
+    void onFailingWorkerShouldAbortAndRethrowFailure() {
+        doAnswer(invocation -> {
+            Set<String> ids = drainIds(invocation.getArgument(0));
+
+            if (ids.contains("external-id-1")) {
+                throw new ConflictException("Conflict", "DataPoint", "externalId", "external-id-1");
+            }
+
+            return new UpsertResult(List.of());
+        }).when(upsertDataPointsFeature).upsert(any(), any());
+
+        assertThrows(
+                ConflictException.class,
+                () -> partitionedUpsertDataPointsFeature.upsert(createModels(20).iterator(), UpsertListener.NONE)
+        );
+    }
+
+    @Test
+    void onFailingFeedShouldAbortWorkersAndRethrowFailure() {
+        doAnswer(invocation -> drain(invocation.getArgument(0))).when(upsertDataPointsFeature).upsert(any(), any());
+        Iterator<UpdateDataPointModel> source = createModels(5).iterator();
+        Iterator<UpdateDataPointModel> failing = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public UpdateDataPointModel next() {
+                if (!source.hasNext()) {
+                    throw new IllegalStateException("Feed broken");
+                }
+
+                return source.next();
+            }
+        };
+
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class,
+                () -> partitionedUpsertDataPointsFeature.upsert(failing, UpsertListener.NONE)
+        );
+        assertEquals("Feed broken", e.getMessage());
+    }
+
+    private UpsertResult drain(Iterator<UpdateDataPointModel> partition) {
+        Set<String> ids = drainIds(partition);
+
+        synchronized (partitions) {
+            partitions.add(ids);
+        }
+
+        return new UpsertResult(List.of(new UpsertChunkResult(0, ids.size(), ids.size(), 0, 0, 0, 1)));
+    }
+
+    private Set<String> drainIds(Iterator<UpdateDataPointModel> partition) {
+        Set<String> ids = new HashSet<>();
+        partition.forEachRemaining(model -> ids.add(model.getExternalId()));
+
+        return ids;
+    }
+
+    private List<UpdateDataPointModel> createModels(int count) {
+        List<UpdateDataPointModel> models = new ArrayList<>();
+
+        for (long id = 1; id <= count; id++) {
+            models.add(new UpdateDataPointModel(
+                    "external-id-" + id,
+                    "some-value-" + id,
+                    "some-comment-" + id,
+                    (int) (id % 2)
+            ));
+        }
+
+        return models;
+    }
+}
@@ -0,0 +1,111 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+import java.util.Optional;
+
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
+import ee.bitweb.testingsample.common.exception.persistence.EntityNotFoundException;
+import ee.bitweb.testingsample.common.exception.persistence.PreconditionFailedException;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
+import ee.bitweb.testingsample.domain.datapoint.features.update.PatchDataPointFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.update.PatchDataPointModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatchDataPointFeatureUnitTests {
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Mock
+    private GetDataPointByIdFeature getDataPointByIdFeature;
+
+    @Mock
+    private DataPointCache cache;
+
+    @Mock
+    private ExternalIdFilter externalIdFilter;
+
+    @InjectMocks
+    private PatchDataPointFeature feature;
+
+    @Captor
+    private ArgumentCaptor<DataPoint> changesCaptor;
+
+    @Test
+    void onMatchingVersionShouldReturnPatchedDataPoint() {
+        DataPoint patched = DataPointHelper.create(1L);
+        patched.setId(1L);
+        patched.setVersion(4L);
+        doReturn(Optional.of(patched)).when(repository).patch(changesCaptor.capture(), eq(List.of(3L)));
+
+        DataPoint result = feature.patch(1L, new PatchDataPointModel(null, "patched-value", null, null), List.of(3L));
+
+        DataPoint changes = changesCaptor.getValue();
+        assertAll(
+                () -> assertSame(patched, result),
+                () -> assertEquals(1L, changes.getId()),
+                () -> assertNull(changes.getExternalId()),
+                () -> assertEquals("patched-value", changes.getValue()),
+                () -> assertNull(changes.getComment()),
+                () -> assertNull(changes.getSignificance())
+        );
+        verify(cache).evict(patched);
+        verify(externalIdFilter).add("external-id-1");
+        verifyNoInteractions(getDataPointByIdFeature);
+    }
+
+    @Test
+    void onVersionMismatchShouldThrowPreconditionFailed() {
+        doReturn(Optional.empty()).when(repository).patch(any(), any());
+        doReturn(5L).when(getDataPointByIdFeature).getVersion(1L);
+
+        PreconditionFailedException e = assertThrows(
+                PreconditionFailedException.class,
+                () -> feature.patch(1L, new PatchDataPointModel(null, "patched-value", null, null), List.of(3L))
+        );
+
+        assertEquals(412, e.getCode());
+        verifyNoInteractions(cache, externalIdFilter);
+    }
+
+    @Test
+    void onMissingDataPointShouldThrowNotFound() {
+        doReturn(Optional.empty()).when(repository).patch(any(), any());
+        doThrow(new EntityNotFoundException("DataPoint", "id", "1")).when(getDataPointByIdFeature).getVersion(1L);
+
+        assertThrows(
+                EntityNotFoundException.class,
+                () -> feature.patch(1L, new PatchDataPointModel(null, "patched-value", null, null), null)
+        );
+        verifyNoInteractions(cache, externalIdFilter);
+    }
+
+    @Test
+    void onDuplicateExternalIdShouldThrowConflict() {
+        doThrow(new DuplicateKeyException("duplicate")).when(repository).patch(any(), any());
+
+        assertThrows(
+                ConflictException.class,
+                () -> feature.patch(1L, new PatchDataPointModel("external-id-2", null, null, null), null)
+        );
+        verify(externalIdFilter, never()).add(anyString());
+    }
+}
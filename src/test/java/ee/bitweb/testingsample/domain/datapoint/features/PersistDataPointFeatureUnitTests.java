@@ -4,6 +4,8 @@ import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
 import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
 import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.cache.DataPointCache;
+import ee.bitweb.testingsample.domain.datapoint.features.filter.ExternalIdFilter;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +15,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +29,12 @@ public class PersistDataPointFeatureUnitTests {
     @Mock
     private DataPointRepository repository;
 
+    @Mock
+    private DataPointCache cache;
+
+    @Mock
+    private ExternalIdFilter externalIdFilter;
+
     @InjectMocks
     private PersistDataPointFeature persistDataPointFeature;
 
@@ -37,9 +48,13 @@ public class PersistDataPointFeatureUnitTests {
 
         //doReturn(point).when(repository).save(point);
 
+        doReturn(point).when(repository).saveAndFlush(point);
+
         persistDataPointFeature.save(point);
 
-        verify(repository, times(1)).save(dataPointArgumentCaptor.capture());
+        verify(repository, times(1)).saveAndFlush(dataPointArgumentCaptor.capture());
+        verify(cache, times(1)).evict(point);
+        verify(externalIdFilter, times(1)).add("external-id-1");
 
         assertAll(
                 () -> assertEquals(1L, point.getId()),
@@ -50,15 +65,59 @@ public class PersistDataPointFeatureUnitTests {
         );
     }
 
+    @Test
+    void onConcurrentlyChangedDataPointThrowsConflictException() {
+        DataPoint point = DataPointHelper.create(1L);
+        point.setId(1L);
+        doThrow(new ObjectOptimisticLockingFailureException(DataPoint.class, 1L)).when(repository).saveAndFlush(point);
+
+        ConflictException e = assertThrows(ConflictException.class, () -> persistDataPointFeature.save(point));
+
+        assertEquals("id", e.getCriteria().iterator().next().getField());
+        verifyNoInteractions(cache, externalIdFilter);
+    }
+
     @Test
     void onDuplicateDatapointThrowsDataIntegrityViolationException() throws Exception {
         DataPoint point = DataPointHelper.create(1L);
+        doReturn(point).when(repository).saveAndFlush(point);
         persistDataPointFeature.save(point);
 
-        doThrow(DataIntegrityViolationException.class).when(repository).save(any());
+        doThrow(DataIntegrityViolationException.class).when(repository).saveAndFlush(any());
 
         assertThrows(ConflictException.class, () -> {
             persistDataPointFeature.save(point);
         });
     }
+
+    @Test
+    void onSaveAllShouldSaveAndFlushOnce() {
+        List<DataPoint> points = List.of(DataPointHelper.create(1L), DataPointHelper.create(2L));
+        doReturn(points).when(repository).saveAllAndFlush(points);
+
+        assertEquals(points, persistDataPointFeature.saveAll(points));
+        verify(repository, times(1)).saveAllAndFlush(points);
+        verify(cache, times(1)).evict(points.get(0));
+        verify(cache, times(1)).evict(points.get(1));
+        verify(externalIdFilter, times(1)).add("external-id-1");
+        verify(externalIdFilter, times(1)).add("external-id-2");
+    }
+
+    @Test
+    void onSaveAllWithNothingToSaveShouldNotTouchRepository() {
+        assertTrue(persistDataPointFeature.saveAll(List.of()).isEmpty());
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void onSaveAllDuplicateShouldThrowConflictException() {
+        List<DataPoint> points = List.of(DataPointHelper.create(1L), DataPointHelper.create(2L));
+        doThrow(DataIntegrityViolationException.class).when(repository).saveAllAndFlush(any());
+
+        ConflictException e = assertThrows(ConflictException.class, () -> persistDataPointFeature.saveAll(points));
+
+        assertEquals("Cannot persist data point as external id already exists", e.getMessage());
+        verifyNoInteractions(cache, externalIdFilter);
+    }
 }
@@ -0,0 +1,83 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.List;
+
+import ee.bitweb.testingsample.common.exception.validation.ValidationException;
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointSearchHit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SearchDataPointsFeatureUnitTests {
+
+    @InjectMocks
+    private SearchDataPointsFeature searchDataPointsFeature;
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Test
+    void onMoreHitsThanLimitShouldReturnCursorOfLastHit() {
+        doReturn(List.of(hit(1L, 0.5f), hit(2L, 0.25f), hit(3L, 0.1f)))
+                .when(repository).searchComments(eq("query"), isNull(), eq(3));
+
+        DataPointSearchPage page = searchDataPointsFeature.search("query", null, 2);
+
+        assertAll(
+                () -> assertEquals(2, page.getHits().size()),
+                () -> assertEquals(2L, page.getHits().get(1).getPoint().getId()),
+                () -> assertNotNull(page.getNextCursor())
+        );
+
+        ArgumentCaptor<DataPointSearchHit> after = ArgumentCaptor.forClass(DataPointSearchHit.class);
+        doReturn(List.of()).when(repository).searchComments(eq("query"), after.capture(), eq(3));
+
+        searchDataPointsFeature.search("query", page.getNextCursor(), 2);
+
+        assertAll(
+                () -> assertEquals(2L, after.getValue().getPoint().getId()),
+                () -> assertEquals(0.25f, after.getValue().getRank())
+        );
+    }
+
+    @Test
+    void onLastPageShouldReturnNoCursor() {
+        doReturn(List.of(hit(1L, 0.5f))).when(repository).searchComments(eq("query"), isNull(), eq(3));
+
+        DataPointSearchPage page = searchDataPointsFeature.search("query", null, 2);
+
+        assertAll(
+                () -> assertEquals(1, page.getHits().size()),
+                () -> assertNull(page.getNextCursor())
+        );
+    }
+
+    @Test
+    void onInvalidCursorShouldThrowValidationException() {
+        ValidationException e = assertThrows(
+                ValidationException.class,
+                () -> searchDataPointsFeature.search("query", "not-a-cursor", 2)
+        );
+
+        assertEquals("cursor", e.getErrors().iterator().next().getField());
+        verifyNoInteractions(repository);
+    }
+
+    private static DataPointSearchHit hit(Long id, float rank) {
+        DataPoint point = DataPointHelper.create(id);
+        point.setId(id);
+
+        return new DataPointSearchHit(point, rank);
+    }
+}
@@ -0,0 +1,75 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamAllDataPointsFeatureUnitTests {
+
+    @InjectMocks
+    private StreamAllDataPointsFeature streamAllDataPointsFeature;
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ListProperties properties = new ListProperties();
+
+    @Test
+    void onStreamShouldHandEveryDataPointToConsumerWithinReadOnlyTransaction() {
+        properties.setFetchSize(2);
+        AtomicBoolean closed = new AtomicBoolean();
+        doReturn(Stream.of(DataPointHelper.create(1L), DataPointHelper.create(2L), DataPointHelper.create(3L))
+                .onClose(() -> closed.set(true))
+        ).when(repository).streamAll(2);
+
+        List<DataPoint> consumed = new ArrayList<>();
+        long count = streamAllDataPointsFeature.stream(consumed::add);
+
+        assertAll(
+                () -> assertEquals(3, count),
+                () -> assertEquals(3, consumed.size()),
+                () -> assertEquals("external-id-1", consumed.get(0).getExternalId()),
+                () -> assertEquals("external-id-3", consumed.get(2).getExternalId()),
+                () -> assertTrue(closed.get())
+        );
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void onConsumerFailureShouldCloseStreamAndRollBack() {
+        AtomicBoolean closed = new AtomicBoolean();
+        doReturn(Stream.of(DataPointHelper.create(1L)).onClose(() -> closed.set(true)))
+                .when(repository).streamAll(anyInt());
+
+        assertThrows(IllegalStateException.class, () -> streamAllDataPointsFeature.stream(point -> {
+            throw new IllegalStateException("client went away");
+        }));
+
+        assertTrue(closed.get());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+}
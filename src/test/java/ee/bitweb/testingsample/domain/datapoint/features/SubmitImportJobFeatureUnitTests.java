@@ -0,0 +1,191 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
+import ee.bitweb.testingsample.common.retrofit.RetrofitException;
+import ee.bitweb.testingsample.domain.datapoint.features.job.ImportJob;
+import ee.bitweb.testingsample.domain.datapoint.features.job.ImportJobRegistry;
+import ee.bitweb.testingsample.domain.datapoint.features.job.ImportJobStatus;
+import ee.bitweb.testingsample.domain.datapoint.features.job.SubmitImportJobFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertChunkResult;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubmitImportJobFeatureUnitTests {
+
+    @Mock
+    private ImportDataPointsFeature importDataPointsFeature;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    private SubmitImportJobFeature submitImportJobFeature;
+
+    @BeforeEach
+    void beforeEach() {
+        submitted.clear();
+        submitImportJobFeature = new SubmitImportJobFeature(
+                importDataPointsFeature,
+                new ImportJobRegistry(new ImportProperties()),
+                new ImportProperties(),
+                submitted::add
+        );
+    }
+
+    @Test
+    void onSubmitShouldQueueJobAndReturnImmediately() {
+        ImportJob job = submitImportJobFeature.submit();
+
+        assertAll(
+                () -> assertNotNull(job.getId()),
+                () -> assertEquals(ImportJobStatus.QUEUED, job.getStatus()),
+                () -> assertFalse(job.isBulk()),
+                () -> assertEquals(1, submitted.size())
+        );
+        verifyNoInteractions(importDataPointsFeature);
+    }
+
+    @Test
+    void onSubmitBulkWithoutStrategyShouldUseConfiguredStrategy() {
+        ImportJob job = submitImportJobFeature.submitBulk(null);
+
+        assertAll(
+                () -> assertTrue(job.isBulk()),
+                () -> assertEquals(ImportProperties.Strategy.UPSERT, job.getStrategy())
+        );
+    }
+
+    @Test
+    void onSubmitWhileJobIsActiveShouldAttachToExistingJob() {
+        ImportJob first = submitImportJobFeature.submit();
+        ImportJob second = submitImportJobFeature.submitBulk(ImportProperties.Strategy.COPY);
+
+        assertAll(
+                () -> assertSame(first, second),
+                () -> assertEquals(1, submitted.size())
+        );
+    }
+
+    @Test
+    void onBeginWhileJobIsActiveShouldRejectImport() {
+        ImportJob active = submitImportJobFeature.submit();
+
+        ConflictException e = assertThrows(ConflictException.class, () -> submitImportJobFeature.begin());
+
+        assertAll(
+                () -> assertEquals("ImportJob", e.getEntity()),
+                () -> assertEquals(active.getId(), e.getCriteria().iterator().next().getValue()),
+                () -> assertEquals(1, submitted.size())
+        );
+    }
+
+    @Test
+    void onSubmitWhileImportRunsOnCallingThreadShouldAttachToIt() {
+        ImportJob running = submitImportJobFeature.begin();
+
+        ImportJob submittedJob = submitImportJobFeature.submit();
+
+        assertAll(
+                () -> assertSame(running, submittedJob),
+                () -> assertEquals(ImportJobStatus.RUNNING, running.getStatus()),
+                () -> assertTrue(submitted.isEmpty())
+        );
+    }
+
+    @Test
+    void onExecuteShouldCompleteJobAndReturnImportResult() {
+        ImportJob job = submitImportJobFeature.beginBulk(null);
+
+        String result = submitImportJobFeature.execute(job, running -> {
+            running.onChunk(new UpsertChunkResult(0, 2, 1, 1, 0, 0, 10));
+
+            return "imported";
+        });
+
+        assertAll(
+                () -> assertEquals("imported", result),
+                () -> assertEquals(ImportJobStatus.COMPLETED, job.getStatus()),
+                () -> assertEquals(2, job.getProcessed()),
+                () -> assertFalse(submitImportJobFeature.begin().isBulk())
+        );
+    }
+
+    @Test
+    void onJobRunShouldRunRegularImportAndCountRows() {
+        doAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(0);
+            job.onRow(new ImportedRow("external-id-1", null, ImportRowStatus.CREATED));
+            job.onRow(new ImportedRow("external-id-2", null, ImportRowStatus.UNCHANGED));
+            job.onRow(new ImportedRow("external-id-3", null, ImportRowStatus.FAILED));
+
+            return new ImportSummary(1, 0, 1, 1, 10);
+        }).when(importDataPointsFeature).execute(any(ImportRowListener.class));
+
+        ImportJob job = submitImportJobFeature.submit();
+        submitted.get(0).run();
+
+        assertAll(
+                () -> assertEquals(ImportJobStatus.COMPLETED, job.getStatus()),
+                () -> assertEquals(3, job.getProcessed()),
+                () -> assertEquals(1, job.getInserted()),
+                () -> assertEquals(0, job.getUpdated()),
+                () -> assertEquals(1, job.getUnchanged()),
+                () -> assertEquals(1, job.getFailed())
+        );
+        verify(importDataPointsFeature, never()).executeBulk(any(), any());
+    }
+
+    @Test
+    void onBulkJobRunShouldTrackProgressAndComplete() {
+        doAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(1);
+            job.onChunk(new UpsertChunkResult(0, 5, 2, 1, 1, 1, 10));
+
+            return new UpsertResult(List.of());
+        }).when(importDataPointsFeature).executeBulk(eq(ImportProperties.Strategy.COPY), any());
+
+        ImportJob job = submitImportJobFeature.submitBulk(ImportProperties.Strategy.COPY);
+        submitted.get(0).run();
+
+        assertAll(
+                () -> assertEquals(ImportJobStatus.COMPLETED, job.getStatus()),
+                () -> assertEquals(ImportProperties.Strategy.COPY, job.getStrategy()),
+                () -> assertEquals(5, job.getProcessed()),
+                () -> assertEquals(2, job.getInserted()),
+                () -> assertEquals(1, job.getUpdated()),
+                () -> assertEquals(1, job.getUnchanged()),
+                () -> assertEquals(1, job.getDuplicates()),
+                () -> assertNotNull(job.getStartedAt()),
+                () -> assertNotNull(job.getFinishedAt()),
+                () -> assertTrue(job.getErrors().isEmpty())
+        );
+    }
+
+    @Test
+    void onJobFailureShouldRecordErrorAndAllowNewJob() {
+        doThrow(new RetrofitException("REQUEST_ERROR"))
+                .when(importDataPointsFeature)
+                .execute(any(ImportRowListener.class));
+
+        ImportJob failed = submitImportJobFeature.submit();
+        submitted.get(0).run();
+
+        ImportJob next = submitImportJobFeature.submit();
+
+        assertAll(
+                () -> assertEquals(ImportJobStatus.FAILED, failed.getStatus()),
+                () -> assertEquals(List.of("REQUEST_ERROR"), failed.getErrors()),
+                () -> assertNotSame(failed, next),
+                () -> assertEquals(2, submitted.size())
+        );
+    }
+}
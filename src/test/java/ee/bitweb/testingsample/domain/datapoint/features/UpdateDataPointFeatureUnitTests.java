@@ -18,6 +18,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -74,4 +77,39 @@ public class UpdateDataPointFeatureUnitTests {
                 () -> assertEquals(1,dataPointArgumentCaptor.getValue().getSignificance())
         );
     }
+
+    @Test
+    void onUnchangedPersistedDataPointShouldSkipSave() {
+        DataPoint dataPoint = DataPointHelper.create(1L);
+        dataPoint.setId(1L);
+
+        DataPoint result = updateDataPointFeature.update(
+                dataPoint,
+                new UpdateDataPointModel("external-id-1", "some-value-1", "some-comment-1", 1)
+        );
+
+        assertSame(dataPoint, result);
+        verifyNoInteractions(persistDataPointFeature);
+    }
+
+    @Test
+    void onApplyShouldReportWhetherPersistedDataPointChanged() {
+        DataPoint dataPoint = DataPointHelper.create(1L);
+        dataPoint.setId(1L);
+
+        Assertions.assertAll(
+                () -> assertFalse(updateDataPointFeature.apply(
+                        dataPoint,
+                        new UpdateDataPointModel("external-id-1", "some-value-1", "some-comment-1", 1)
+                )),
+                () -> assertTrue(updateDataPointFeature.apply(
+                        dataPoint,
+                        new UpdateDataPointModel("external-id-1", "some-new-value-1", "some-comment-1", 1)
+                )),
+                () -> assertTrue(updateDataPointFeature.apply(
+                        new DataPoint(),
+                        new UpdateDataPointModel("external-id-1", "some-value-1", "some-comment-1", 1)
+                ))
+        );
+    }
 }
@@ -0,0 +1,157 @@
+package ee.bitweb.testingsample.domain.datapoint.features;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import ee.bitweb.testingsample.common.exception.persistence.ConflictException;
+import ee.bitweb.testingsample.domain.datapoint.common.BulkWriteResult;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointContentHash;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.update.UpdateDataPointModel;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertDataPointsFeature;
+import ee.bitweb.testingsample.domain.datapoint.features.upsert.UpsertResult;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@RequiredArgsConstructor
+public class UpsertDataPointsFeatureUnitTests {
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ImportProperties properties = new ImportProperties();
+
+    @InjectMocks
+    private UpsertDataPointsFeature upsertDataPointsFeature;
+
+    @Captor
+    private ArgumentCaptor<Collection<DataPoint>> dataPointsArgumentCaptor;
+
+    @Test
+    void onModelsShouldUpsertInChunksAndCommitEveryChunk() {
+        properties.setChunkSize(2);
+        doReturn(new BulkWriteResult(1, 1), new BulkWriteResult(1, 0)).when(repository).upsert(any());
+
+        UpsertResult result = upsertDataPointsFeature.upsert(createModels(3).iterator());
+
+        verify(repository, times(2)).upsert(dataPointsArgumentCaptor.capture());
+        verify(transactionManager, times(2)).commit(any());
+
+        assertAll(
+                () -> assertEquals(2, result.getChunks().size()),
+                () -> assertEquals(2, result.getInserted()),
+                () -> assertEquals(1, result.getUpdated()),
+                () -> assertEquals(2, result.getChunks().get(0).getSize()),
+                () -> assertEquals(1, result.getChunks().get(1).getSize()),
+                () -> assertEquals(2, dataPointsArgumentCaptor.getAllValues().get(0).size()),
+                () -> assertEquals(1, dataPointsArgumentCaptor.getAllValues().get(1).size())
+        );
+    }
+
+    @Test
+    void onRunCommitPolicyShouldCommitOnce() {
+        properties.setChunkSize(2);
+        properties.setCommitPolicy(ImportProperties.CommitPolicy.RUN);
+        doReturn(new BulkWriteResult(2, 0)).when(repository).upsert(any());
+
+        upsertDataPointsFeature.upsert(createModels(4).iterator());
+
+        verify(repository, times(2)).upsert(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void onDuplicateExternalIdInChunkShouldKeepLastOccurrence() {
+        List<UpdateDataPointModel> models = new ArrayList<>(createModels(1));
+        models.add(new UpdateDataPointModel("external-id-1", "some-newer-value-1", "some-comment-1", 0));
+        doReturn(new BulkWriteResult(1, 0)).when(repository).upsert(any());
+
+        UpsertResult result = upsertDataPointsFeature.upsert(models.iterator());
+
+        verify(repository, times(1)).upsert(dataPointsArgumentCaptor.capture());
+        DataPoint point = dataPointsArgumentCaptor.getValue().iterator().next();
+
+        assertAll(
+                () -> assertEquals(1, dataPointsArgumentCaptor.getValue().size()),
+                () -> assertEquals("some-newer-value-1", point.getValue()),
+                () -> assertEquals(0, point.getSignificance()),
+                () -> assertEquals(1, result.getInserted()),
+                () -> assertEquals(0, result.getUnchanged()),
+                () -> assertEquals(1, result.getDuplicates())
+        );
+    }
+
+    @Test
+    void onUnchangedContentHashShouldSkipDataPoint() {
+        List<UpdateDataPointModel> models = createModels(3);
+        UpdateDataPointModel unchanged = models.get(1);
+        doReturn(Map.of(
+                unchanged.getExternalId(),
+                DataPointContentHash.of(
+                        unchanged.getExternalId(),
+                        unchanged.getValue(),
+                        unchanged.getComment(),
+                        unchanged.getSignificance()
+                ),
+                "external-id-3",
+                DataPointContentHash.of("external-id-3", "some-old-value-3", "some-comment-3", 1)
+        )).when(repository).findContentHashes(any());
+        doReturn(new BulkWriteResult(1, 1)).when(repository).upsert(any());
+
+        UpsertResult result = upsertDataPointsFeature.upsert(models.iterator());
+
+        verify(repository, times(1)).upsert(dataPointsArgumentCaptor.capture());
+
+        assertAll(
+                () -> assertEquals(2, dataPointsArgumentCaptor.getValue().size()),
+                () -> assertTrue(dataPointsArgumentCaptor.getValue()
+                        .stream()
+                        .noneMatch(point -> point.getExternalId().equals(unchanged.getExternalId()))),
+                () -> assertEquals(1, result.getInserted()),
+                () -> assertEquals(1, result.getUpdated()),
+                () -> assertEquals(1, result.getUnchanged())
+        );
+    }
+
+    @Test
+    void onDataIntegrityViolationShouldThrowConflictException() {
+        doThrow(DataIntegrityViolationException.class).when(repository).upsert(any());
+
+        assertThrows(ConflictException.class, () -> upsertDataPointsFeature.upsert(createModels(1).iterator()));
+    }
+
+    private List<UpdateDataPointModel> createModels(int count) {
+        List<UpdateDataPointModel> models = new ArrayList<>();
+
+        for (long id = 1; id <= count; id++) {
+            models.add(new UpdateDataPointModel(
+                    "external-id-" + id,
+                    "some-value-" + id,
+                    "some-comment-" + id,
+                    (int) (id % 2)
+            ));
+        }
+
+        return models;
+    }
+}
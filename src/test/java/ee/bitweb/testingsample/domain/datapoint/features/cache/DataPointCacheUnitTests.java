@@ -0,0 +1,147 @@
+package ee.bitweb.testingsample.domain.datapoint.features.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ee.bitweb.testingsample.domain.datapoint.DataPointHelper;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPoint;
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataPointCacheUnitTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private DataPointCacheProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() {
+        loads.set(0);
+        properties = new DataPointCacheProperties();
+        properties.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void onRepeatedLookupByIdShouldLoadOnceAndReturnCachedView() {
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+        DataPointView view = create(1L);
+
+        DataPointView first = cache.getById(1L, () -> load(view)).orElseThrow();
+        DataPointView second = cache.getById(1L, () -> load(view)).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(1, loads.get()),
+                () -> assertSame(view, first),
+                () -> assertSame(view, second)
+        );
+    }
+
+    @Test
+    void onLookupByExternalIdShouldShareEntryWithLookupById() {
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+        cache.getByExternalId("external-id-1", () -> load(create(1L)));
+
+        assertTrue(cache.getById(1L, Optional::empty).isPresent());
+        assertTrue(cache.getByExternalId("external-id-1", Optional::empty).isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onMissingDataPointShouldNotCacheMiss() {
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+
+        assertTrue(cache.getById(1L, Optional::empty).isEmpty());
+        assertTrue(cache.getById(1L, () -> load(create(1L))).isPresent());
+    }
+
+    @Test
+    void onEvictShouldLoadAgain() {
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+        cache.getById(1L, () -> load(create(1L)));
+
+        cache.evict(createEntity(1L));
+        cache.getById(1L, () -> load(create(1L)));
+        cache.getByExternalId("external-id-1", () -> load(create(1L)));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onChangedExternalIdShouldNotServeDataPointUnderOldExternalId() {
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+        cache.getByExternalId("external-id-1", () -> load(create(1L)));
+
+        DataPoint changed = createEntity(1L);
+        changed.setExternalId("external-id-changed");
+        cache.evict(changed);
+        cache.getById(1L, () -> load(new DataPointView(1L, "external-id-changed", "some-value-1", null, 1, 1L)));
+
+        assertTrue(cache.getByExternalId("external-id-1", Optional::empty).isEmpty());
+    }
+
+    @Test
+    void onEvictAllShouldLoadAgain() {
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+        cache.getById(1L, () -> load(create(1L)));
+        cache.getById(2L, () -> load(create(2L)));
+
+        cache.evictAll();
+
+        assertTrue(cache.getById(1L, Optional::empty).isEmpty());
+        assertTrue(cache.getById(2L, Optional::empty).isEmpty());
+    }
+
+    @Test
+    void onDisabledCacheShouldAlwaysLoad() {
+        properties.setEnabled(false);
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+
+        cache.getById(1L, () -> load(create(1L)));
+        cache.getById(1L, () -> load(create(1L)));
+        cache.getByExternalId("external-id-1", () -> load(create(1L)));
+
+        assertEquals(3, loads.get());
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void onLookupsShouldRecordHitsAndMisses() {
+        DataPointCache cache = new DataPointCache(properties, meterRegistry);
+        cache.getById(1L, () -> load(create(1L)));
+        cache.getById(1L, Optional::empty);
+        cache.getById(1L, Optional::empty);
+
+        assertAll(
+                () -> assertEquals(2, meterRegistry
+                        .get("cache.gets").tag("cache", "data-points.by-id").tag("result", "hit")
+                        .functionCounter().count()),
+                () -> assertEquals(1, meterRegistry
+                        .get("cache.gets").tag("cache", "data-points.by-id").tag("result", "miss")
+                        .functionCounter().count())
+        );
+    }
+
+    private Optional<DataPointView> load(DataPointView view) {
+        loads.incrementAndGet();
+
+        return Optional.of(view);
+    }
+
+    private static DataPointView create(Long id) {
+        return DataPointHelper.createView(id);
+    }
+
+    private static DataPoint createEntity(Long id) {
+        DataPoint point = DataPointHelper.create(id);
+        point.setId(id);
+
+        return point;
+    }
+}
@@ -0,0 +1,117 @@
+package ee.bitweb.testingsample.domain.datapoint.features.filter;
+
+import java.util.stream.Stream;
+
+import ee.bitweb.testingsample.domain.datapoint.common.DataPointRepository;
+import ee.bitweb.testingsample.domain.datapoint.features.ListProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExternalIdFilterUnitTests {
+
+    @Mock
+    private DataPointRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExternalIdFilterProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ExternalIdFilter externalIdFilter;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new ExternalIdFilterProperties();
+        properties.setEnabled(true);
+        properties.setExpectedInsertions(1000);
+        properties.setFalsePositiveProbability(0.000001);
+        meterRegistry = new SimpleMeterRegistry();
+        externalIdFilter = new ExternalIdFilter(
+                repository,
+                properties,
+                new ListProperties(),
+                transactionManager,
+                meterRegistry
+        );
+    }
+
+    @Test
+    void onFilterNotBuiltShouldReportEveryExternalIdAsPossiblyExisting() {
+        assertTrue(externalIdFilter.mightExist("external-id-1"));
+        assertTrue(Double.isNaN(meterRegistry.get("data-points.external-id-filter.expected-fpp").gauge().value()));
+    }
+
+    @Test
+    void onRebuildShouldAnswerDefiniteMissesForScannedExternalIds() {
+        doReturn(Stream.of("external-id-1", "external-id-2")).when(repository).streamExternalIds(anyInt());
+
+        externalIdFilter.rebuild();
+
+        assertAll(
+                () -> assertTrue(externalIdFilter.mightExist("external-id-1")),
+                () -> assertTrue(externalIdFilter.mightExist("external-id-2")),
+                () -> assertFalse(externalIdFilter.mightExist("external-id-3")),
+                () -> assertEquals(2, meterRegistry
+                        .get("data-points.external-id-filter.checks").tag("result", "positive").counter().count()),
+                () -> assertEquals(1, meterRegistry
+                        .get("data-points.external-id-filter.checks").tag("result", "negative").counter().count()),
+                () -> assertEquals(1, meterRegistry.get("data-points.external-id-filter.rebuild").timer().count()),
+                () -> assertEquals(2, meterRegistry
+                        .get("data-points.external-id-filter.approximate-size").gauge().value())
+        );
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void onAddShouldReportExternalIdAsPossiblyExisting() {
+        doReturn(Stream.empty()).when(repository).streamExternalIds(anyInt());
+        externalIdFilter.rebuild();
+
+        externalIdFilter.add("external-id-1");
+
+        assertTrue(externalIdFilter.mightExist("external-id-1"));
+    }
+
+    @Test
+    void onAddDuringRebuildShouldKeepExternalIdInRebuiltFilter() {
+        doReturn(Stream.of("external-id-1").peek(id -> externalIdFilter.add("external-id-2")))
+                .when(repository).streamExternalIds(anyInt());
+
+        externalIdFilter.rebuild();
+
+        assertTrue(externalIdFilter.mightExist("external-id-2"));
+    }
+
+    @Test
+    void onFailedRebuildShouldKeepPreviousFilter() {
+        doReturn(Stream.of("external-id-1")).when(repository).streamExternalIds(anyInt());
+        externalIdFilter.rebuild();
+
+        doThrow(new IllegalStateException("connection lost")).when(repository).streamExternalIds(anyInt());
+        assertThrows(IllegalStateException.class, () -> externalIdFilter.rebuild());
+
+        assertTrue(externalIdFilter.mightExist("external-id-1"));
+        assertFalse(externalIdFilter.mightExist("external-id-2"));
+    }
+
+    @Test
+    void onDisabledFilterShouldNeitherScanNorRuleOutAnything() {
+        properties.setEnabled(false);
+
+        externalIdFilter.rebuild();
+
+        assertTrue(externalIdFilter.mightExist("external-id-1"));
+        verifyNoInteractions(repository);
+    }
+}